@@ -0,0 +1,49 @@
+package com.blog.bench;
+
+import com.blog.model.ContentBlock;
+import com.blog.service.ContentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentServiceBenchmark {
+
+    @Param
+    public PostFixtures.Size size;
+
+    private ContentService contentService;
+    private List<ContentBlock> blocks;
+
+    @Setup
+    public void setup() {
+        contentService = new ContentService();
+        blocks = PostFixtures.blocks(size);
+    }
+
+    @Benchmark
+    public String calculateReadingTime() {
+        return contentService.calculateReadingTime(blocks);
+    }
+
+    @Benchmark
+    public boolean validateContentBlocks() {
+        return contentService.validateContentBlocks(blocks);
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.bench;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializador de Instant do WebConfig (IsoInstantDeserializer) com os formatos que chegam do Supabase:
+ * com "Z", com offset e sem fuso (timestamp do PostgREST, o caminho rápido do parser). A equivalência com
+ * a cadeia antiga fica no IsoInstantDeserializerTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstantDeserializerBenchmark {
+
+    @Param({"2024-05-01T10:15:30.123Z", "2024-05-01T10:15:30.123+00:00", "2024-05-01T10:15:30.123456"})
+    public String value;
+
+    private ObjectReader reader;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        reader = PostFixtures.objectMapper().readerFor(Instant.class);
+        json = ("\"" + value + "\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Instant deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,199 @@
+package com.blog.bench;
+
+import com.blog.config.WebConfig;
+import com.blog.model.ContentBlock;
+import com.blog.model.Post;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Posts sintéticos no formato que o Supabase devolve, com semente fixa: o mesmo tamanho gera sempre
+ * o mesmo JSON. Datas sem fuso (coluna timestamp) para passar pelo deserializador de Instant do WebConfig.
+ */
+public final class PostFixtures {
+
+    /**
+     * Tamanhos de post: blocos de texto, palavras por parágrafo, blocos de código e linhas por exemplo.
+     */
+    public enum Size {
+        SMALL(6, 40, 1, 8),
+        MEDIUM(40, 80, 6, 30),
+        HUGE(400, 120, 60, 200);
+
+        final int blocks;
+        final int wordsPerParagraph;
+        final int codeBlocks;
+        final int linesPerExample;
+
+        Size(int blocks, int wordsPerParagraph, int codeBlocks, int linesPerExample) {
+            this.blocks = blocks;
+            this.wordsPerParagraph = wordsPerParagraph;
+            this.codeBlocks = codeBlocks;
+            this.linesPerExample = linesPerExample;
+        }
+    }
+
+    private static final String[] WORDS = {
+            "o", "de", "que", "para", "com", "uma", "dados", "servidor", "requisição", "cache", "latência",
+            "consulta", "índice", "memória", "thread", "resposta", "cliente", "performance", "código", "teste",
+            "objeto", "lista", "mapa", "função", "valor", "chave", "bloco", "post", "categoria", "leitura"};
+
+    private static final String[] CODE = {
+            "return cache.get(key);", "List<Post> posts = repository.findAll();", "if (posts.isEmpty()) {",
+            "    throw new IllegalStateException(\"vazio\");", "}", "for (Post p : posts) index.add(p);",
+            "const res = await fetch(url, { method: 'GET' });", "Map<String, Object> row = new HashMap<>();"};
+
+    private static final ObjectMapper MAPPER = objectMapper();
+
+    private PostFixtures() {}
+
+    /**
+     * O mesmo ObjectMapper da aplicação (WebConfig), com o padrão do Spring Boot de datas em ISO-8601.
+     */
+    public static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new WebConfig().objectMapper(builder);
+    }
+
+    public static ObjectNode postNode(Size size, int n) {
+        Random random = new Random(31L * n + size.ordinal());
+        ObjectNode post = MAPPER.createObjectNode();
+        post.put("id", String.format("00000000-0000-4000-8000-%012d", n));
+        post.put("title", "Post " + n + ": " + words(random, 8));
+        post.put("category", "Programação");
+        post.putArray("tags").add("java").add("performance").add("spring").add("tag" + (n % 7));
+        post.put("image", "/uploads/" + Integer.toHexString(n) + ".jpg");
+        post.put("date", String.format("2024-05-%02dT10:15:30.123456", 1 + n % 28));
+        post.put("reading_time", "5 min de leitura");
+        post.put("excerpt", words(random, 30));
+        post.set("conteudo", conteudo(size, random));
+        post.put("created_at", String.format("2024-05-%02dT10:15:30.123456", 1 + n % 28));
+        post.put("updated_at", String.format("2024-06-%02dT08:00:00.5+00:00", 1 + n % 28));
+        return post;
+    }
+
+    public static ArrayNode conteudo(Size size, Random random) {
+        ArrayNode blocks = MAPPER.createArrayNode();
+        blocks.addObject().put("tipo", "intro").put("content", words(random, size.wordsPerParagraph));
+        int codeEvery = Math.max(1, size.blocks / Math.max(1, size.codeBlocks));
+        for (int i = 1; i < size.blocks - 1; i++) {
+            if (i % codeEvery == 0) {
+                ObjectNode content = blocks.addObject().put("tipo", "codigo").putObject("content");
+                content.put("title", "Exemplo " + i);
+                ArrayNode examples = content.putArray("examples");
+                examples.addObject().put("language", "java").put("color", "#f89820").put("code", code(random, size.linesPerExample));
+                examples.addObject().put("language", "typescript").put("color", "#3178c6").put("code", code(random, size.linesPerExample / 2 + 1));
+            } else if (i % 10 == 5) {
+                blocks.addObject().put("tipo", "imagem").putObject("content")
+                        .put("src", "/uploads/img" + i + ".png").put("alt", words(random, 5))
+                        .put("width", 1024).put("height", 768).put("class", "w-full");
+            } else if (i % 10 == 1) {
+                blocks.addObject().put("tipo", "titulo").putObject("content")
+                        .put("text", words(random, 6)).put("icon", "code").put("iconColor", "#333");
+            } else {
+                blocks.addObject().put("tipo", "paragrafo").put("content", words(random, size.wordsPerParagraph));
+            }
+        }
+        blocks.addObject().put("tipo", "conclusao").put("content", words(random, size.wordsPerParagraph));
+        return blocks;
+    }
+
+    /**
+     * Blocos nos formatos que o front publica e a página do post renderiza: codigo como array de
+     * {title, examples}, lista/comparacao/ecossistema com arrays e campos fora do modelo ("caption").
+     */
+    public static ArrayNode frontConteudo() {
+        ArrayNode blocks = MAPPER.createArrayNode();
+        blocks.addObject().put("tipo", "intro").put("content", "Introdução");
+        blocks.addObject().put("tipo", "imagem").putObject("content")
+                .put("src", "/uploads/a.png").put("alt", "a").put("width", 800).put("caption", "legenda");
+        blocks.addObject().put("tipo", "imagem").putObject("content").put("src", "/uploads/b.png").put("width", "100%");
+        blocks.addObject().put("tipo", "titulo").put("anchor", "inicio").putObject("content")
+                .put("text", "Título").put("icon", "code").put("iconColor", "blue-500");
+        ObjectNode codigo = blocks.addObject().put("tipo", "codigo").putArray("content").addObject().put("title", "Java x Go");
+        codigo.putArray("examples").addObject().put("language", "java").put("color", "orange-400").put("code", "int x = 1;");
+        blocks.addObject().put("tipo", "codigo").putObject("content").put("title", "Editor")
+                .putArray("examples").addObject().put("language", "go").put("code", "x := 1");
+        blocks.addObject().put("tipo", "lista").putArray("content").addObject()
+                .put("title", "Item").put("description", "Descrição").put("example", "exemplo()");
+        ObjectNode comparacao = blocks.addObject().put("tipo", "comparacao").putArray("content").addObject()
+                .put("title", "Prós").put("bg", "green-50").put("border", "green-200");
+        comparacao.putArray("items").add("rápido").add("simples");
+        ObjectNode ecossistema = blocks.addObject().put("tipo", "ecossistema").putArray("content").addObject()
+                .put("title", "Bibliotecas").put("description", "Principais").put("bgFrom", "blue-50")
+                .put("bgTo", "blue-100").put("border", "blue-200");
+        ecossistema.putArray("libraries").add("spring").add("jackson");
+        blocks.addObject().put("tipo", "conclusao").put("content", "Conclusão");
+        return blocks;
+    }
+
+    /**
+     * Lê e reescreve um post com {@link #frontConteudo()} pelo mapper da aplicação e falha se o JSON
+     * mudar: nenhum bloco pode derrubar a leitura nem perder campos ao ser regravado.
+     */
+    public static void checkFrontRoundTrip(ObjectMapper mapper) {
+        ObjectNode post = postNode(Size.SMALL, 0);
+        post.set("conteudo", frontConteudo());
+        try {
+            Post read = mapper.treeToValue(post, Post.class);
+            JsonNode written = mapper.valueToTree(read).get("conteudo");
+            if (!post.get("conteudo").equals(written)) {
+                throw new IllegalStateException("conteudo mudou na ida e volta:\n" + post.get("conteudo") + "\n" + written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String postsJson(Size size, int count) {
+        ArrayNode posts = MAPPER.createArrayNode();
+        for (int i = 0; i < count; i++) posts.add(postNode(size, i));
+        return posts.toString();
+    }
+
+    public static List<Post> posts(Size size, int count) {
+        return read(postsJson(size, count), new TypeReference<>() {});
+    }
+
+    public static String conteudoJson(Size size) {
+        return conteudo(size, new Random(size.ordinal())).toString();
+    }
+
+    public static List<ContentBlock> blocks(Size size) {
+        return read(conteudoJson(size), new TypeReference<>() {});
+    }
+
+    private static <T> T read(String json, TypeReference<T> type) {
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String code(Random random, int lines) {
+        StringBuilder sb = new StringBuilder(lines * 32);
+        for (int i = 0; i < lines; i++) sb.append(CODE[random.nextInt(CODE.length)]).append('\n');
+        return sb.toString();
+    }
+}
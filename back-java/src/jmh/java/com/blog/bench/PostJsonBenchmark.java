@@ -0,0 +1,69 @@
+package com.blog.bench;
+
+import com.blog.model.Post;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lista de posts como vem do Supabase (leitura) e como sai na API (escrita). Antes de medir, confere
+ * que os blocos no formato do front fazem a ida e volta sem erro nem perda de campos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostJsonBenchmark {
+
+    private static final TypeReference<List<Post>> POST_LIST = new TypeReference<>() {};
+
+    @Param
+    public PostFixtures.Size size;
+
+    @Param({"1", "20"})
+    public int count;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private byte[] json;
+    private List<Post> posts;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = PostFixtures.objectMapper();
+        PostFixtures.checkFrontRoundTrip(mapper);
+        reader = mapper.readerFor(POST_LIST);
+        writer = mapper.writerFor(POST_LIST);
+        json = PostFixtures.postsJson(size, count).getBytes(StandardCharsets.UTF_8);
+        posts = PostFixtures.posts(size, count);
+    }
+
+    @Benchmark
+    public List<Post> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(posts);
+    }
+}
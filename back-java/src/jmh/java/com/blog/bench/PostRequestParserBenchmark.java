@@ -0,0 +1,105 @@
+package com.blog.bench;
+
+import com.blog.controller.PostRequestParser;
+import com.blog.model.ContentBlock;
+import com.blog.model.CreatePostRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "conteudo" e "tags" nos formatos que a API aceita: string (campo multipart, via PostRequestParser)
+ * e, no corpo JSON, array (lista) ou objeto {"blocks": [...]} (mapa) lidos pelos mesmos deserializadores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostRequestParserBenchmark {
+
+    @Param
+    public PostFixtures.Size size;
+
+    private PostRequestParser parser;
+    private ObjectReader createRequestReader;
+    private String conteudoArray;
+    private String conteudoObject;
+    private String bodyWithList;
+    private String bodyWithMap;
+    private String bodyWithString;
+    private String tagsCsv;
+    private String tagsJson;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = PostFixtures.objectMapper();
+        parser = new PostRequestParser(mapper);
+        createRequestReader = mapper.readerFor(CreatePostRequest.class);
+
+        conteudoArray = PostFixtures.conteudoJson(size);
+        conteudoObject = "{\"blocks\":" + conteudoArray + "}";
+        tagsCsv = "java, performance , spring,jmh,  cache";
+        tagsJson = "[\"java\",\"performance\",\"spring\",\"jmh\",\"cache\"]";
+
+        ObjectNode body = PostFixtures.postNode(size, 1);
+        body.remove(List.of("id", "date", "created_at", "updated_at"));
+        bodyWithList = body.toString();
+        body.set("conteudo", mapper.createObjectNode().set("blocks", body.get("conteudo")));
+        bodyWithMap = body.toString();
+        body.put("conteudo", conteudoArray);
+        body.put("tags", tagsCsv);
+        bodyWithString = body.toString();
+    }
+
+    @Benchmark
+    public List<ContentBlock> parseConteudoArrayString() {
+        return parser.parseConteudo(conteudoArray);
+    }
+
+    @Benchmark
+    public List<ContentBlock> parseConteudoObjectString() {
+        return parser.parseConteudo(conteudoObject);
+    }
+
+    @Benchmark
+    public List<String> parseTagsCsv() {
+        return parser.parseTags(tagsCsv);
+    }
+
+    @Benchmark
+    public List<String> parseTagsJson() {
+        return parser.parseTags(tagsJson);
+    }
+
+    @Benchmark
+    public CreatePostRequest readBodyConteudoList() throws IOException {
+        return createRequestReader.readValue(bodyWithList);
+    }
+
+    @Benchmark
+    public CreatePostRequest readBodyConteudoMap() throws IOException {
+        return createRequestReader.readValue(bodyWithMap);
+    }
+
+    @Benchmark
+    public CreatePostRequest readBodyConteudoString() throws IOException {
+        return createRequestReader.readValue(bodyWithString);
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.bench;
+
+import com.blog.model.ContentBlock;
+import com.blog.model.CreatePostRequest;
+import com.blog.model.UpdatePostRequest;
+import com.blog.service.ContentService;
+import com.blog.service.PostValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostValidatorBenchmark {
+
+    @Param
+    public PostFixtures.Size size;
+
+    private PostValidator validator;
+    private String title;
+    private String excerpt;
+    private List<String> tags;
+    private List<ContentBlock> conteudo;
+
+    @Setup
+    public void setup() {
+        validator = new PostValidator(new ContentService());
+        title = "  Como medir latência de cauda no Spring Boot  ";
+        excerpt = "  " + "Um resumo de tamanho realista para o card do post. ".repeat(4) + " ";
+        tags = List.of(" java", "performance ", "spring", " jmh ");
+        conteudo = PostFixtures.blocks(size);
+    }
+
+    @Benchmark
+    public PostValidator.ValidationResult validateCreateValid() {
+        return validator.validateCreatePostData(title, "Programação", tags, "/uploads/a.jpg", excerpt, conteudo, null);
+    }
+
+    @Benchmark
+    public PostValidator.ValidationResult validateCreateInvalid() {
+        return validator.validateCreatePostData("", "Culinária", List.of(1, 2), null, null, List.of(), 5);
+    }
+
+    @Benchmark
+    public PostValidator.ValidationResult validateUpdate() {
+        return validator.validateUpdatePostData(title, "Design", tags, null, excerpt, conteudo, null);
+    }
+
+    @Benchmark
+    public CreatePostRequest sanitizeCreate() {
+        return validator.sanitizeCreatePostData(title, "Programação", tags, " /uploads/a.jpg ", excerpt, conteudo, " 5 min ");
+    }
+
+    @Benchmark
+    public UpdatePostRequest sanitizeUpdate() {
+        return validator.sanitizeUpdatePostData(title, null, tags, null, excerpt, null, null);
+    }
+}
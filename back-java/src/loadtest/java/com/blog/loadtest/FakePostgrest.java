@@ -0,0 +1,347 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PostgREST falso em memória para a tabela posts, só com o que o SupabasePostRepository usa: filtros
+ * eq., in.(...), cs.{...} e o or= do cursor, order, limit, offset, select, POST (um ou vários),
+ * PATCH e DELETE devolvendo as linhas (return=representation). Cada resposta espera a latência
+ * configurada (base + jitter uniforme), como uma chamada de rede ao Supabase.
+ *
+ * As linhas são imutáveis: o PATCH troca o objeto inteiro, então leituras concorrentes nunca veem
+ * um post pela metade. Datas são gravadas sem fuso, como a coluna timestamp do Supabase.
+ */
+final class FakePostgrest implements Closeable {
+
+    private static final String BASE_PATH = "/rest/v1/posts";
+    private static final Set<String> RESERVED = Set.of("order", "limit", "offset", "select", "or");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+    // (date.lt."<data>",and(date.eq."<data>",id.lt.<id>)) — ver PostCursor.toFilter
+    private static final Pattern CURSOR = Pattern.compile(
+            "\\(date\\.lt\\.\"([^\"]+)\",and\\(date\\.eq\\.\"([^\"]+)\",id\\.lt\\.([^)]+)\\)\\)");
+    private static final String[] CATEGORIES = {"Programação", "Tecnologia", "Design", "Negócios"};
+    private static final String[] WORDS = {
+            "cache", "latência", "servidor", "consulta", "índice", "memória", "thread", "resposta", "cliente",
+            "performance", "código", "dados", "java", "spring", "reativo", "banco", "rede", "fila", "lote", "teste"};
+
+    private final ObjectMapper mapper;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final Map<String, ObjectNode> rows = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fake-postgrest");
+        t.setDaemon(true);
+        return t;
+    });
+
+    FakePostgrest(ObjectMapper mapper, Duration latency, Duration jitter) throws IOException {
+        this.mapper = mapper;
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    List<String> ids() {
+        return new ArrayList<>(rows.keySet());
+    }
+
+    /**
+     * Posts com conteúdo de tamanho realista (parágrafos, títulos e um bloco de código), um por minuto
+     * para trás a partir de agora.
+     */
+    void seed(int count, int paragraphs) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            ObjectNode post = mapper.createObjectNode();
+            String id = UUID.randomUUID().toString();
+            String date = timestamp(now.minus(i, ChronoUnit.MINUTES));
+            post.put("id", id);
+            post.put("title", "Post " + i + " sobre " + words(random, 4));
+            post.put("category", CATEGORIES[i % CATEGORIES.length]);
+            post.putArray("tags").add(WORDS[i % WORDS.length]).add(WORDS[(i * 7 + 3) % WORDS.length]);
+            post.put("image", "/uploads/seed-" + i + ".jpg");
+            post.put("date", date);
+            post.put("reading_time", "5 min de leitura");
+            post.put("excerpt", words(random, 25));
+            ArrayNode conteudo = post.putArray("conteudo");
+            conteudo.addObject().put("tipo", "intro").put("content", words(random, 60));
+            for (int p = 0; p < paragraphs; p++) {
+                if (p % 4 == 0) {
+                    conteudo.addObject().put("tipo", "titulo").putObject("content").put("text", words(random, 5));
+                }
+                conteudo.addObject().put("tipo", "paragrafo").put("content", words(random, 90));
+            }
+            ObjectNode code = conteudo.addObject().put("tipo", "codigo").putObject("content");
+            code.putArray("examples").addObject().put("language", "java")
+                    .put("code", "List<Post> posts = repository.findAll();\nreturn posts.stream().limit(20).toList();\n");
+            if (i % 3 == 0) {
+                // Formatos que a página do post renderiza e o modelo tipado não cobre
+                ObjectNode item = conteudo.addObject().put("tipo", "codigo").putArray("content").addObject()
+                        .put("title", words(random, 3));
+                item.putArray("examples").addObject().put("language", "go").put("color", "cyan-400").put("code", "x := 1\n");
+                conteudo.addObject().put("tipo", "lista").putArray("content").addObject()
+                        .put("title", words(random, 3)).put("description", words(random, 12)).put("example", "f()");
+            }
+            conteudo.addObject().put("tipo", "conclusao").put("content", words(random, 40));
+            post.put("created_at", date);
+            post.put("updated_at", date);
+            rows.put(id, post);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getRawPath();
+            if (!path.equals(BASE_PATH)) {
+                send(exchange, 404, mapper.createObjectNode().put("message", "tabela não encontrada: " + path));
+                return;
+            }
+            pause();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> send(exchange, 200, select(query, find(query)));
+                case "POST" -> send(exchange, 201, insert(read(exchange.getRequestBody())));
+                case "PATCH" -> send(exchange, 200, select(query, update(query, read(exchange.getRequestBody()))));
+                case "DELETE" -> send(exchange, 200, select(query, delete(query)));
+                default -> send(exchange, 405, mapper.createObjectNode().put("message", "método não suportado"));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, mapper.createObjectNode().put("message", e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private List<ObjectNode> find(Map<String, String> query) {
+        Predicate<ObjectNode> filter = filter(query);
+        List<ObjectNode> result = new ArrayList<>();
+        for (ObjectNode row : rows.values()) {
+            if (filter.test(row)) result.add(row);
+        }
+        result.sort(order(query.get("order")));
+        int offset = query.containsKey("offset") ? Integer.parseInt(query.get("offset")) : 0;
+        int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : Integer.MAX_VALUE;
+        if (offset >= result.size()) return List.of();
+        return result.subList(offset, (int) Math.min(result.size(), (long) offset + limit));
+    }
+
+    private ArrayNode insert(JsonNode body) {
+        ArrayNode inserted = mapper.createArrayNode();
+        List<JsonNode> items = new ArrayList<>();
+        if (body.isArray()) body.forEach(items::add);
+        else items.add(body);
+        String now = timestamp(Instant.now());
+        for (JsonNode item : items) {
+            ObjectNode row = ((ObjectNode) item).deepCopy();
+            String id = UUID.randomUUID().toString();
+            row.put("id", id);
+            row.put("date", row.hasNonNull("date") ? timestamp(parseTimestamp(row.get("date").asText())) : now);
+            row.put("created_at", now);
+            row.put("updated_at", now);
+            rows.put(id, row);
+            inserted.add(row);
+        }
+        return inserted;
+    }
+
+    private List<ObjectNode> update(Map<String, String> query, JsonNode changes) {
+        List<ObjectNode> updated = new ArrayList<>();
+        String now = timestamp(Instant.now());
+        for (ObjectNode row : find(query)) {
+            ObjectNode changed = rows.computeIfPresent(row.get("id").asText(), (id, current) -> {
+                ObjectNode copy = current.deepCopy();
+                copy.setAll((ObjectNode) changes);
+                copy.put("id", id);
+                copy.put("updated_at", now);
+                return copy;
+            });
+            if (changed != null) updated.add(changed);
+        }
+        return updated;
+    }
+
+    private List<ObjectNode> delete(Map<String, String> query) {
+        List<ObjectNode> deleted = new ArrayList<>();
+        for (ObjectNode row : find(query)) {
+            ObjectNode removed = rows.remove(row.get("id").asText());
+            if (removed != null) deleted.add(removed);
+        }
+        return deleted;
+    }
+
+    private Predicate<ObjectNode> filter(Map<String, String> query) {
+        Predicate<ObjectNode> filter = row -> true;
+        for (Map.Entry<String, String> e : query.entrySet()) {
+            if (RESERVED.contains(e.getKey())) continue;
+            String column = e.getKey();
+            String value = e.getValue();
+            if (value.startsWith("eq.")) {
+                String expected = value.substring(3);
+                filter = filter.and(row -> row.hasNonNull(column) && row.get(column).asText().equals(expected));
+            } else if (value.startsWith("in.(") && value.endsWith(")")) {
+                Set<String> expected = Set.of(value.substring(4, value.length() - 1).split(","));
+                filter = filter.and(row -> row.hasNonNull(column) && expected.contains(row.get(column).asText()));
+            } else if (value.startsWith("cs.{") && value.endsWith("}")) {
+                List<String> expected = Arrays.asList(value.substring(4, value.length() - 1).split(","));
+                filter = filter.and(row -> {
+                    List<String> values = new ArrayList<>();
+                    row.path(column).forEach(v -> values.add(v.asText()));
+                    return values.containsAll(expected);
+                });
+            } else {
+                throw new IllegalArgumentException("filtro não suportado: " + column + "=" + value);
+            }
+        }
+        String or = query.get("or");
+        if (or != null) {
+            Matcher m = CURSOR.matcher(or);
+            if (!m.matches()) throw new IllegalArgumentException("or não suportado: " + or);
+            String date = timestamp(parseTimestamp(m.group(1)));
+            String id = m.group(3);
+            filter = filter.and(row -> {
+                int c = row.get("date").asText().compareTo(date);
+                return c < 0 || (c == 0 && row.get("id").asText().compareTo(id) < 0);
+            });
+        }
+        return filter;
+    }
+
+    // Timestamps têm sempre o mesmo formato, então a ordem do texto é a ordem das datas
+    private static Comparator<ObjectNode> order(String order) {
+        Comparator<ObjectNode> comparator = (a, b) -> 0;
+        if (order == null) return comparator;
+        for (String term : order.split(",")) {
+            String[] parts = term.split("\\.");
+            String column = parts[0];
+            Comparator<ObjectNode> byColumn = Comparator.comparing(row -> row.path(column).asText());
+            comparator = comparator.thenComparing(parts.length > 1 && parts[1].equals("desc") ? byColumn.reversed() : byColumn);
+        }
+        return comparator;
+    }
+
+    private ArrayNode select(Map<String, String> query, List<ObjectNode> result) {
+        ArrayNode out = mapper.createArrayNode();
+        String select = query.get("select");
+        if (select == null || select.equals("*")) {
+            result.forEach(out::add);
+            return out;
+        }
+        List<String> columns = Arrays.asList(select.split(","));
+        for (ObjectNode row : result) {
+            ObjectNode projected = out.addObject();
+            for (String column : columns) {
+                if (row.has(column)) projected.set(column, row.get(column));
+            }
+        }
+        return out;
+    }
+
+    private void pause() {
+        long nanos = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0);
+        if (nanos <= 0) return;
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonNode read(InputStream body) throws IOException {
+        JsonNode node = mapper.readTree(body);
+        if (node == null || !(node.isObject() || node.isArray())) throw new IllegalArgumentException("corpo inválido");
+        return node;
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (raw == null || raw.isEmpty()) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    // Aceita com ou sem fuso, como o PostgREST faz ao gravar numa coluna timestamp
+    private static Instant parseTimestamp(String text) {
+        try {
+            return Instant.parse(text);
+        } catch (RuntimeException e) {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    private static String timestamp(Instant instant) {
+        return TIMESTAMP.format(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    private static String words(ThreadLocalRandom random, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,417 @@
+package com.blog.loadtest;
+
+import com.blog.BlogBackendApplication;
+import com.blog.config.SupabaseMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste de carga ponta a ponta: sobe um {@link FakePostgrest} com latência configurável, sobe a
+ * aplicação apontando para ele (no mesmo processo, porta aleatória) e roda clientes em loop fechado
+ * com uma mistura de leituras e escritas em /api/posts* e /api/upload. No fim imprime vazão e
+ * p50/p95/p99 por operação e, ao lado, a latência das chamadas ao Supabase falso (SupabaseMetrics),
+ * para separar o que é rede do que é a aplicação.
+ *
+ * Opções (--nome=valor): duration, warmup, concurrency, latency, jitter, posts, paragraphs, mix
+ * (ex.: list:30,get:25,create:8). Qualquer outro argumento vai para o Spring, por exemplo
+ * --spring.profiles.active=reactive ou --app.cache.max-entries=0. Sai com status 1 se alguma
+ * requisição falhou durante a medição.
+ */
+public final class LoadTest {
+
+    enum Op {
+        LIST(30), SUMMARY(10), GET(25), CATEGORY(10), SEARCH(5), CREATE(8), UPDATE(7), DELETE(3), UPLOAD(2);
+
+        final int defaultWeight;
+
+        Op(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final String[] CATEGORIES = {"Programação", "Tecnologia", "Design", "Negócios"};
+    private static final String[] QUERIES = {"cache", "latência java", "spring reativo", "índice memória", "fila"};
+    private static final String BOUNDARY = "----loadtest" + Long.toHexString(System.nanoTime());
+
+    private final Map<String, String> options;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<String> seededIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final List<byte[]> images = new ArrayList<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private String baseUrl;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "duration", "30s", "warmup", "5s", "concurrency", "32", "latency", "20ms", "jitter", "10ms",
+                "posts", "200", "paragraphs", "12", "mix", ""));
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (name != null && options.containsKey(name)) options.put(name, arg.substring(eq + 1));
+            else springArgs.add(arg);
+        }
+        int status = new LoadTest(options).run(springArgs);
+        System.exit(status);
+    }
+
+    private int run(List<String> springArgs) throws Exception {
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration latency = DurationStyle.detectAndParse(options.get("latency"));
+        Duration jitter = DurationStyle.detectAndParse(options.get("jitter"));
+        Op[] schedule = schedule(options.get("mix"));
+
+        Path uploadDir = Files.createTempDirectory("blog-loadtest-uploads");
+        try (FakePostgrest supabase = new FakePostgrest(mapper, latency, jitter)) {
+            supabase.seed(Integer.parseInt(options.get("posts")), Integer.parseInt(options.get("paragraphs")));
+            supabase.start();
+            seededIds.addAll(supabase.ids());
+            for (int i = 0; i < 16; i++) images.add(png(i));
+
+            try (ConfigurableApplicationContext app = startApp(supabase.url(), uploadDir, springArgs)) {
+                baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                System.out.printf("App em %s, Supabase falso em %s (latência %s + até %s), %d posts%n",
+                        baseUrl, supabase.url(), options.get("latency"), options.get("jitter"), seededIds.size());
+                System.out.printf("%d clientes, aquecimento %s, medição %s, mistura %s%n%n",
+                        concurrency, options.get("warmup"), options.get("duration"), describe(schedule));
+
+                awaitIndexes();
+                drive(schedule, concurrency, warmup);
+                SupabaseMetrics metrics = app.getBean(SupabaseMetrics.class);
+                Map<String, SupabaseMetrics.OperationStats> before = metrics.snapshot();
+                Map<Op, Samples> results = drive(schedule, concurrency, duration);
+                report(results, duration);
+                reportSupabase(before, metrics.snapshot());
+                return results.values().stream().anyMatch(s -> s.errors > 0) ? 1 : 0;
+            }
+        } finally {
+            deleteRecursively(uploadDir);
+        }
+    }
+
+    private ConfigurableApplicationContext startApp(String supabaseUrl, Path uploadDir, List<String> springArgs) {
+        SpringApplication app = new SpringApplication(BlogBackendApplication.class);
+        app.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "app.upload-dir", uploadDir.toString(),
+                "logging.level.root", "WARN",
+                "spring.main.banner-mode", "off"));
+        // Na linha de comando para ganhar de variáveis de ambiente: nunca apontar para o Supabase de verdade
+        List<String> args = new ArrayList<>(springArgs);
+        args.add("--supabase.url=" + supabaseUrl);
+        args.add("--supabase.anon-key=loadtest");
+        args.add("--app.storage=supabase");
+        return app.run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Busca e tags respondem 503 até o PostIndexLoader terminar a carga inicial: espera por isso antes de
+     * aquecer, senão os primeiros pedidos de busca contam como erro.
+     */
+    private void awaitIndexes() throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(60).toNanos();
+        while (client.send(get("/api/posts/search?q=java"), HttpResponse.BodyHandlers.discarding()).statusCode() == 503
+                || client.send(get("/api/tags"), HttpResponse.BodyHandlers.discarding()).statusCode() == 503) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Índices não carregaram em 60s");
+            Thread.sleep(100);
+        }
+        System.out.printf("Índices carregados em %d ms%n%n", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Cada cliente repete: sorteia uma operação, manda, espera a resposta. Devolve as amostras somadas.
+     */
+    private Map<Op, Samples> drive(Op[] schedule, int concurrency, Duration length) throws Exception {
+        long end = System.nanoTime() + length.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<Op, Samples>>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    Map<Op, Samples> samples = new EnumMap<>(Op.class);
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end) {
+                        Op op = schedule[random.nextInt(schedule.length)];
+                        Samples s = samples.computeIfAbsent(op, o -> new Samples());
+                        HttpRequest request = request(op, random);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            long elapsed = System.nanoTime() - start;
+                            if (response.statusCode() / 100 == 2) {
+                                s.add(elapsed);
+                                if (op == Op.CREATE) createdIds.add(mapper.readTree(response.body()).path("id").asText());
+                            } else {
+                                s.error(op + " " + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+                            }
+                        } catch (IOException e) {
+                            s.error(op + ": " + e);
+                        }
+                    }
+                    return samples;
+                }));
+            }
+            Map<Op, Samples> total = new EnumMap<>(Op.class);
+            for (Future<Map<Op, Samples>> f : futures) {
+                f.get().forEach((op, s) -> total.computeIfAbsent(op, o -> new Samples()).merge(s));
+            }
+            return total;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private HttpRequest request(Op op, ThreadLocalRandom random) {
+        String seeded = seededIds.get(random.nextInt(seededIds.size()));
+        return switch (op) {
+            case LIST -> get("/api/posts?limit=20");
+            case SUMMARY -> get("/api/posts?fields=summary");
+            case GET -> get("/api/posts/" + seeded);
+            case CATEGORY -> get("/api/posts/categoria/" + encode(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            case SEARCH -> get("/api/posts/search?q=" + encode(QUERIES[random.nextInt(QUERIES.length)]));
+            case CREATE -> json("POST", "/api/posts", newPost(random));
+            case UPDATE -> json("PUT", "/api/posts/" + seeded,
+                    mapper.createObjectNode().put("excerpt", "Resumo editado pela carga " + sequence.incrementAndGet()));
+            case DELETE -> {
+                // Só apaga o que a própria carga criou; sem nada criado ainda, cria
+                String created = createdIds.poll();
+                yield created != null
+                        ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/posts/" + created)).DELETE().build()
+                        : json("POST", "/api/posts", newPost(random));
+            }
+            case UPLOAD -> upload(images.get(random.nextInt(images.size())));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String method, String path, ObjectNode body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest upload(byte[] image) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 256);
+        String head = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"carga.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private ObjectNode newPost(ThreadLocalRandom random) {
+        int n = sequence.incrementAndGet();
+        ObjectNode post = mapper.createObjectNode();
+        post.put("title", "Post da carga " + n);
+        post.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        post.putArray("tags").add("carga").add("java");
+        post.put("image", "/uploads/carga.jpg");
+        post.put("excerpt", "Criado pelo teste de carga " + n);
+        ArrayNode conteudo = post.putArray("conteudo");
+        conteudo.addObject().put("tipo", "intro").put("content", "Introdução do post de carga " + n);
+        for (int i = 0; i < 5; i++) {
+            conteudo.addObject().put("tipo", "paragrafo").put("content", "parágrafo com algumas palavras de texto ".repeat(10));
+        }
+        return post;
+    }
+
+    private static Op[] schedule(String mix) {
+        Map<Op, Integer> weights = new EnumMap<>(Op.class);
+        if (mix == null || mix.isBlank()) {
+            for (Op op : Op.values()) weights.put(op, op.defaultWeight);
+        } else {
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split(":");
+                weights.put(Op.valueOf(kv[0].trim().toUpperCase()), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+            }
+        }
+        List<Op> schedule = new ArrayList<>();
+        weights.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) schedule.add(op);
+        });
+        if (schedule.isEmpty()) throw new IllegalArgumentException("mix sem operações");
+        return schedule.toArray(Op[]::new);
+    }
+
+    private static String describe(Op[] schedule) {
+        Map<Op, Integer> counts = new EnumMap<>(Op.class);
+        for (Op op : schedule) counts.merge(op, 1, Integer::sum);
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((op, c) -> sb.append(sb.length() > 0 ? "," : "").append(op.name().toLowerCase()).append(':').append(c));
+        return sb.toString();
+    }
+
+    private static void report(Map<Op, Samples> results, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-10s %8s %7s %9s %9s %9s %9s %9s%n", "operação", "reqs", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Samples all = new Samples();
+        results.forEach((op, s) -> {
+            row(op.name().toLowerCase(), s, seconds);
+            all.merge(s);
+        });
+        row("total", all, seconds);
+        results.values().stream().flatMap(s -> s.firstErrors.stream()).limit(5)
+                .forEach(e -> System.out.println("  erro: " + (e.length() > 200 ? e.substring(0, 200) + "..." : e)));
+    }
+
+    private static void row(String name, Samples s, double seconds) {
+        long[] sorted = s.sorted();
+        System.out.printf("%-10s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length, s.errors,
+                sorted.length / seconds, ms(percentile(sorted, 0.50)), ms(percentile(sorted, 0.95)),
+                ms(percentile(sorted, 0.99)), ms(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+    }
+
+    // Só a medição: desconta o que o aquecimento já tinha registrado nos histogramas
+    private static void reportSupabase(Map<String, SupabaseMetrics.OperationStats> before,
+                                       Map<String, SupabaseMetrics.OperationStats> after) {
+        System.out.printf("%nChamadas ao Supabase falso durante a medição (SupabaseMetrics):%n");
+        System.out.printf("%-16s %8s %9s %9s %14s%n", "operação", "chamadas", "p50 ms", "p99 ms", "decode p99 ms");
+        after.forEach((name, stats) -> {
+            SupabaseMetrics.OperationStats previous = before.get(name);
+            SupabaseMetrics.HistogramSnapshot duration = minus(stats.duration(), previous != null ? previous.duration() : null);
+            SupabaseMetrics.HistogramSnapshot decode = minus(stats.decode(), previous != null ? previous.decode() : null);
+            if (duration.count() == 0) return;
+            System.out.printf("%-16s %8d %9.2f %9.2f %14.3f%n", name, duration.count(),
+                    duration.p50() * 1000, duration.p99() * 1000, decode.count() > 0 ? decode.p99() * 1000 : 0);
+        });
+    }
+
+    private static SupabaseMetrics.HistogramSnapshot minus(SupabaseMetrics.HistogramSnapshot now,
+                                                           SupabaseMetrics.HistogramSnapshot then) {
+        if (then == null) return now;
+        long[] counts = now.counts().clone();
+        for (int i = 0; i < counts.length; i++) counts[i] -= then.counts()[i];
+        return new SupabaseMetrics.HistogramSnapshot(now.bounds(), counts, now.sum() - then.sum());
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    // PNGs pequenos e diferentes entre si: o upload grava por hash, então repetidos só conferem o disco
+    private static byte[] png(int seed) {
+        BufferedImage image = new BufferedImage(96, 64, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(Color.HSBtoRGB(seed / 16f, 0.6f, 0.9f)));
+        g.fillRect(0, 0, 96, 64);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString("carga " + seed, 10, 36);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * Latências de uma operação (ns) e erros. Cada cliente tem as suas; só são somadas no fim.
+     */
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+        private final List<String> firstErrors = new ArrayList<>();
+
+        void add(long nanos) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+        }
+
+        void error(String message) {
+            errors++;
+            if (firstErrors.size() < 3) firstErrors.add(message);
+        }
+
+        void merge(Samples other) {
+            for (int i = 0; i < other.size; i++) add(other.values[i]);
+            errors += other.errors;
+            for (String e : other.firstErrors) {
+                if (firstErrors.size() < 3) firstErrors.add(e);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
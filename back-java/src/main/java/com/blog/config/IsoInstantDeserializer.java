@@ -0,0 +1,162 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Instant em ISO-8601 com ou sem fuso, numa passada só sobre os caracteres do parser e sem exceções:
+ * "2024-05-01T10:15:30.123456" (coluna timestamp do PostgREST, tratada como UTC),
+ * "2024-05-01T10:15:30Z", "2024-05-01T10:15:30.5+03:00". Segundos e fração (1 a 9 dígitos) são
+ * opcionais, inclusive com offset, que o parser antigo recusava. O offset aceita Z, ±HH, ±HHMM, ±HH:MM
+ * e ±HH:MM:SS. Datas são validadas (30 de fevereiro não passa). Só o que não tem conserto vira erro, e
+ * um só, de formato.
+ */
+final class IsoInstantDeserializer extends StdDeserializer<Instant> {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    // Dias de 0000-03-01 até 1970-01-01 no calendário gregoriano proléptico
+    private static final long DAYS_0000_TO_1970 = 719_468;
+    private static final int POSTGREST_LENGTH = "yyyy-MM-ddTHH:mm:ss.SSSSSS".length();
+
+    IsoInstantDeserializer() {
+        super(Instant.class);
+    }
+
+    @Override
+    public Instant deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return (Instant) ctxt.handleUnexpectedToken(Instant.class, p);
+        }
+        Instant instant = parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        if (instant == null) {
+            throw ctxt.weirdStringException(p.getText(), Instant.class, "Não foi possível fazer parse da data");
+        }
+        return instant;
+    }
+
+    /**
+     * @return o Instant, ou null se o texto não for uma data ISO-8601 válida
+     */
+    static Instant parse(char[] c, int off, int len) {
+        int end = off + len;
+        // yyyy-MM-ddTHH:mm é o mínimo
+        if (len < 16 || c[off + 4] != '-' || c[off + 7] != '-' || c[off + 10] != 'T' || c[off + 13] != ':') {
+            return null;
+        }
+        int year = digits(c, off, 4);
+        int month = digits(c, off + 5, 2);
+        int day = digits(c, off + 8, 2);
+        int hour = digits(c, off + 11, 2);
+        int minute = digits(c, off + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 24 || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int second = 0;
+        int nanos = 0;
+        int i = off + 16;
+        if (len == POSTGREST_LENGTH && c[off + 16] == ':' && c[off + 19] == '.') {
+            // Caminho rápido: exatamente o que o PostgREST manda para timestamp, micros e sem fuso
+            second = digits(c, off + 17, 2);
+            int micros = digits(c, off + 20, 6);
+            if (micros >= 0) {
+                if (second < 0 || second > 59 || hour == 24 && (minute | second | micros) != 0) return null;
+                return Instant.ofEpochSecond(epochSecond(year, month, day, hour, minute, second), micros * 1000);
+            }
+            // Mesmo tamanho mas com fuso ("…30.1+03:00"): segue pelo caminho geral
+            second = 0;
+        }
+        if (i < end && c[i] == ':') {
+            if (i + 3 > end) return null;
+            second = digits(c, i + 1, 2);
+            if (second < 0 || second > 59) return null;
+            i += 3;
+            if (i < end && (c[i] == '.' || c[i] == ',')) {
+                int start = ++i;
+                while (i < end && c[i] >= '0' && c[i] <= '9') {
+                    if (i - start < 9) nanos = nanos * 10 + (c[i] - '0');
+                    i++;
+                }
+                int count = i - start;
+                // "…:30.Z": ponto sem dígitos não é fração
+                if (count == 0 || count > 9) return null;
+                for (int k = count; k < 9; k++) nanos *= 10;
+            }
+        }
+
+        // 24:00:00 é o fim do dia, como no Instant.parse
+        if (hour == 24 && (minute != 0 || second != 0 || nanos != 0)) return null;
+
+        int offsetSeconds = 0;
+        if (i < end) {
+            char sign = c[i];
+            if (sign == 'Z' || sign == 'z') {
+                if (i + 1 != end) return null;
+            } else if (sign == '+' || sign == '-') {
+                offsetSeconds = offset(c, i + 1, end);
+                if (offsetSeconds < 0) return null;
+                if (sign == '-') offsetSeconds = -offsetSeconds;
+            } else {
+                return null;
+            }
+        }
+        return Instant.ofEpochSecond(epochSecond(year, month, day, hour, minute, second) - offsetSeconds, nanos);
+    }
+
+    // HH, HHMM, HH:MM ou HH:MM:SS até o fim do texto; -1 se inválido. Limite de ±18h, como ZoneOffset
+    private static int offset(char[] c, int i, int end) {
+        int length = end - i;
+        int hours = length >= 2 ? digits(c, i, 2) : -1;
+        int minutes = 0;
+        int seconds = 0;
+        if (length == 4) {
+            minutes = digits(c, i + 2, 2);
+        } else if (length == 5 && c[i + 2] == ':') {
+            minutes = digits(c, i + 3, 2);
+        } else if (length == 8 && c[i + 2] == ':' && c[i + 5] == ':') {
+            minutes = digits(c, i + 3, 2);
+            seconds = digits(c, i + 6, 2);
+        } else if (length != 2) {
+            return -1;
+        }
+        if (hours < 0 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) return -1;
+        int total = hours * 3600 + minutes * 60 + seconds;
+        return total > 18 * 3600 ? -1 : total;
+    }
+
+    // n dígitos decimais a partir de i; -1 se algum não for dígito
+    private static int digits(char[] c, int i, int n) {
+        int value = 0;
+        for (int k = i; k < i + n; k++) {
+            int d = c[k] - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // days_from_civil (H. Hinnant): dia gregoriano → dias desde 1970-01-01, sem criar LocalDate
+    private static long epochSecond(int year, int month, int day, int hour, int minute, int second) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long epochDay = era * 146_097 + doe - DAYS_0000_TO_1970;
+        return epochDay * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+}
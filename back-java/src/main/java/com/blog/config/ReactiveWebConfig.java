@@ -0,0 +1,48 @@
+package com.blog.config;
+
+import com.blog.service.UploadFileService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.ResourceHandlerRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Equivalente WebFlux de {@link WebConfig} (CORS) e do UploadFileController (/uploads) para o profile "reactive".
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Value("${app.upload-dir:uploads}")
+    private String uploadDir;
+
+    // Tomcat também está no classpath (starter-web); sem este bean o Boot escolheria o adaptador reativo do Tomcat
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**").allowedOriginPatterns("*").allowedMethods("*");
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        registry.addResourceHandler("/uploads/**")
+                .addResourceLocations("file:" + uploadPath + "/")
+                // Nome = hash do conteúdo (UploadService): a URL nunca muda de conteúdo
+                .setCacheControl(UploadFileService.CACHE_CONTROL)
+                .setEtagGenerator(resource -> UploadFileService.etag(resource.getFilename()))
+                // Guarda a resolução de cada caminho; o corpo sai por zero-copy do Netty (ZeroCopyHttpOutputMessage)
+                .resourceChain(true);
+    }
+}
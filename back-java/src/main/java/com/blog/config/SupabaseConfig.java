@@ -2,41 +2,126 @@ package com.blog.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class SupabaseConfig {
 
-    @Value("${supabase.url}")
+    @Value("${supabase.url:}")
     private String supabaseUrl;
 
-    @Value("${supabase.anon-key}")
+    @Value("${supabase.anon-key:}")
     private String supabaseAnonKey;
 
-    @Value("${supabase.service-role-key:${supabase.anon-key}}")
+    @Value("${supabase.service-role-key:${supabase.anon-key:}}")
     private String supabaseServiceRoleKey;
 
+    @Value("${supabase.pool.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${supabase.pool.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${supabase.pool.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${supabase.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${supabase.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${supabase.pool.evict-in-background:30s}")
+    private Duration evictInBackground;
+
+    @Value("${supabase.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${supabase.response-timeout:10s}")
+    private Duration responseTimeout;
+
+    @Value("${supabase.http2:true}")
+    private boolean http2;
+
+    @Value("${supabase.compress:true}")
+    private boolean compress;
+
+    // Teto do buffer de cada post: as listas são decodificadas em streaming, então página e chunk do batch
+    // não contam. Um post acima disso falha na leitura, inclusive na representação de um write já gravado
+    @Value("${supabase.max-in-memory-size:2MB}")
+    private DataSize maxInMemorySize;
+
+    @Bean
+    public SupabasePoolMetrics supabasePoolMetrics() {
+        return new SupabasePoolMetrics();
+    }
+
+    @Bean
+    public SupabaseMetrics supabaseMetrics() {
+        return new SupabaseMetrics();
+    }
+
+    // Com app.storage=local não há Supabase: o cliente e o pool não são criados
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "app.storage", havingValue = "supabase", matchIfMissing = true)
+    public ConnectionProvider supabaseConnectionProvider(SupabasePoolMetrics poolMetrics) {
+        return ConnectionProvider.builder("supabase")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+
     @Bean("supabaseWebClient")
-    public WebClient supabaseWebClient(WebClient.Builder builder, ObjectMapper objectMapper) {
+    @ConditionalOnProperty(name = "app.storage", havingValue = "supabase", matchIfMissing = true)
+    public WebClient supabaseWebClient(WebClient.Builder builder, ObjectMapper objectMapper,
+                                       ConnectionProvider supabaseConnectionProvider, SupabaseMetrics metrics) {
         if (supabaseUrl == null || supabaseUrl.isBlank() || supabaseAnonKey == null || supabaseAnonKey.isBlank()) {
             throw new IllegalStateException("SUPABASE_URL e SUPABASE_ANON_KEY são obrigatórios");
         }
         String baseUrl = supabaseUrl.endsWith("/") ? supabaseUrl + "rest/v1" : supabaseUrl + "/rest/v1";
+
+        // HTTP/2 só é negociado via ALPN em TLS; em http:// fica no HTTP/1.1 com keep-alive
+        HttpProtocol[] protocols = http2 && baseUrl.startsWith("https")
+                ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[]{HttpProtocol.HTTP11};
+        HttpClient httpClient = HttpClient.create(supabaseConnectionProvider)
+                .protocol(protocols)
+                .keepAlive(true)
+                .compress(compress)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
         return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + supabaseAnonKey)
                 .defaultHeader("apikey", supabaseAnonKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader("Prefer", "return=representation")
+                .filter(metrics.filter())
                 .codecs(configurer -> {
+                    configurer.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes());
                     configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
-                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(metrics.decoder(objectMapper));
                 })
                 .build();
     }
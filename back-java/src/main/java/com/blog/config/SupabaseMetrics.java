@@ -0,0 +1,353 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas das chamadas ao Supabase por operação (findAll, findById, insert...): latência da troca
+ * HTTP até o último byte do corpo, tamanho da resposta, contagem por status e, à parte, o tempo de
+ * desserialização do JSON. Assim dá para separar a cauda que vem do Supabase da que é nossa.
+ * A operação vem do atributo {@link #OPERATION} da requisição; sem ele, usa método e caminho.
+ */
+public class SupabaseMetrics {
+
+    public static final String OPERATION = SupabaseMetrics.class.getName() + ".operation";
+
+    // Limites em segundos, no formato de buckets do Prometheus (le); p50/p95/p99 interpolam dentro deles
+    static final double[] DURATION_BUCKETS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.0075, 0.01, 0.015, 0.02, 0.03, 0.04, 0.05,
+            0.075, 0.1, 0.15, 0.2, 0.3, 0.4, 0.5, 0.75, 1, 1.5, 2, 3, 5, 7.5, 10};
+    static final double[] SIZE_BUCKETS = {
+            256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216};
+
+    // Decodificação da resposta cujo corpo está sendo repassado nesta thread (ver filter())
+    private static final ThreadLocal<Decoding> DECODING = new ThreadLocal<>();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Filtro do supabaseWebClient. A latência para no fim do corpo, antes de qualquer decodificação.
+     * O decode acontece na mesma thread, dentro dos sinais repassados a seguir: no onComplete para o
+     * bodyToMono (corpo inteiro), no onNext de cada buffer para o bodyToFlux (ver decoder()).
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.defer(() -> {
+            Operation op = operation(operationName(request));
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnError(e -> {
+                        op.status("error");
+                        op.duration.record(seconds(System.nanoTime() - start));
+                    })
+                    .map(response -> {
+                        op.status(Integer.toString(response.statusCode().value()));
+                        AtomicLong bytes = new AtomicLong();
+                        Decoding decoding = new Decoding();
+                        return response.mutate()
+                                .body(body -> body
+                                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                        .doOnError(e -> op.duration.record(seconds(System.nanoTime() - start)))
+                                        .doOnCancel(() -> op.duration.record(seconds(System.nanoTime() - start)))
+                                        .doOnComplete(() -> {
+                                            op.duration.record(seconds(System.nanoTime() - start));
+                                            op.size.record(bytes.get());
+                                        })
+                                        .doAfterTerminate(() -> {
+                                            if (decoding.decoded) op.decode.record(seconds(decoding.nanos));
+                                        })
+                                        .transform(flux -> Operators.<DataBuffer, DataBuffer>lift(
+                                                (scannable, actual) -> new BodySubscriber(actual, decoding)).apply(flux)))
+                                .build();
+                    });
+        });
+    }
+
+    /**
+     * Decoder JSON que soma o tempo de desserialização na {@link Decoding} da troca. No bodyToMono é o
+     * decode do corpo inteiro; no bodyToFlux é o onNext de cada buffer (tokenizar e ler os elementos
+     * prontos) menos o tempo gasto por quem consome os elementos emitidos dentro dele.
+     */
+    public Jackson2JsonDecoder decoder(ObjectMapper objectMapper) {
+        return new Jackson2JsonDecoder(objectMapper) {
+            @Override
+            public Object decode(DataBuffer dataBuffer, ResolvableType targetType, MimeType mimeType,
+                                 Map<String, Object> hints) {
+                Decoding decoding = DECODING.get();
+                if (decoding == null) return super.decode(dataBuffer, targetType, mimeType, hints);
+                decoding.decoded = true;
+                long start = System.nanoTime();
+                try {
+                    return super.decode(dataBuffer, targetType, mimeType, hints);
+                } finally {
+                    decoding.nanos += System.nanoTime() - start;
+                }
+            }
+
+            @Override
+            public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType,
+                                       Map<String, Object> hints) {
+                return super.decode(input, elementType, mimeType, hints)
+                        .transform(flux -> Operators.<Object, Object>lift(
+                                (scannable, actual) -> new ElementSubscriber(actual)).apply(flux));
+            }
+        };
+    }
+
+    private static String operationName(ClientRequest request) {
+        return request.attribute(OPERATION)
+                .map(Object::toString)
+                .orElseGet(() -> request.method().name() + " " + request.url().getPath());
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, Operation::new);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Snapshot ordenado por nome da operação.
+     */
+    public Map<String, OperationStats> snapshot() {
+        Map<String, OperationStats> result = new TreeMap<>();
+        operations.forEach((name, op) -> {
+            Map<String, Long> statuses = new TreeMap<>();
+            op.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            result.put(name, new OperationStats(op.duration.snapshot(), op.size.snapshot(), op.decode.snapshot(), statuses));
+        });
+        return result;
+    }
+
+    public record OperationStats(HistogramSnapshot duration, HistogramSnapshot responseBytes,
+                                 HistogramSnapshot decode, Map<String, Long> statuses) {}
+
+    private static final class Operation {
+
+        private final String name;
+        private final Histogram duration = new Histogram(DURATION_BUCKETS);
+        private final Histogram size = new Histogram(SIZE_BUCKETS);
+        private final Histogram decode = new Histogram(DURATION_BUCKETS);
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        void status(String status) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Tempo de decode acumulado de uma troca. Só é tocado pela thread que repassa o corpo, um sinal por vez.
+     */
+    private static final class Decoding {
+
+        private long nanos;
+        private boolean decoded;
+    }
+
+    /**
+     * Repassa o corpo com a {@link Decoding} da troca no {@link #DECODING}, cronometrando cada onNext:
+     * no bodyToFlux é ali dentro que os buffers são decodificados.
+     */
+    private static final class BodySubscriber implements CoreSubscriber<DataBuffer> {
+
+        private final CoreSubscriber<? super DataBuffer> actual;
+        private final Decoding decoding;
+
+        BodySubscriber(CoreSubscriber<? super DataBuffer> actual, Decoding decoding) {
+            this.actual = actual;
+            this.decoding = decoding;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(DataBuffer buffer) {
+            // Guarda a anterior: o consumidor pode, dentro do onNext, repassar o corpo de outra troca
+            Decoding previous = DECODING.get();
+            DECODING.set(decoding);
+            long start = System.nanoTime();
+            try {
+                actual.onNext(buffer);
+            } finally {
+                decoding.nanos += System.nanoTime() - start;
+                DECODING.set(previous);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            actual.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            Decoding previous = DECODING.get();
+            DECODING.set(decoding);
+            try {
+                actual.onComplete();
+            } finally {
+                DECODING.set(previous);
+            }
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+    }
+
+    /**
+     * Repassa os elementos do bodyToFlux descontando da {@link Decoding} o tempo gasto no consumidor,
+     * que roda dentro do onNext cronometrado pelo {@link BodySubscriber}.
+     */
+    private static final class ElementSubscriber implements CoreSubscriber<Object> {
+
+        private final CoreSubscriber<? super Object> actual;
+
+        ElementSubscriber(CoreSubscriber<? super Object> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(Object element) {
+            Decoding decoding = DECODING.get();
+            if (decoding == null) {
+                actual.onNext(element);
+                return;
+            }
+            decoding.decoded = true;
+            long start = System.nanoTime();
+            try {
+                actual.onNext(element);
+            } finally {
+                decoding.nanos -= System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            actual.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+    }
+
+    /**
+     * Histograma de buckets fixos, sem lock: um contador atômico por bucket (o último é o +Inf).
+     */
+    static final class Histogram {
+
+        private final double[] bounds;
+        private final AtomicLongArray counts;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Histogram(double[] bounds) {
+            this.bounds = bounds;
+            this.counts = new AtomicLongArray(bounds.length + 1);
+        }
+
+        void record(double value) {
+            int i = 0;
+            while (i < bounds.length && value > bounds[i]) i++;
+            counts.incrementAndGet(i);
+            sum.add(value);
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] copy = new long[counts.length()];
+            for (int i = 0; i < copy.length; i++) copy[i] = counts.get(i);
+            return new HistogramSnapshot(bounds, copy, sum.sum());
+        }
+    }
+
+    /**
+     * Contagens por bucket (não cumulativas) e soma dos valores. Em JSON sai só o resumo.
+     */
+    public record HistogramSnapshot(@JsonIgnore double[] bounds, @JsonIgnore long[] counts, double sum) {
+
+        @JsonProperty
+        public long count() {
+            long total = 0;
+            for (long c : counts) total += c;
+            return total;
+        }
+
+        @JsonProperty
+        public double p50() {
+            return quantile(0.50);
+        }
+
+        @JsonProperty
+        public double p95() {
+            return quantile(0.95);
+        }
+
+        @JsonProperty
+        public double p99() {
+            return quantile(0.99);
+        }
+
+        /**
+         * Mesma estimativa do histogram_quantile do Prometheus: interpolação linear dentro do bucket.
+         * No +Inf devolve o maior limite finito.
+         */
+        public double quantile(double q) {
+            long total = count();
+            if (total == 0) return Double.NaN;
+            double rank = q * total;
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (seen + counts[i] >= rank && counts[i] > 0) {
+                    if (i == bounds.length) return bounds[bounds.length - 1];
+                    double lower = i == 0 ? 0 : bounds[i - 1];
+                    return lower + (bounds[i] - lower) * (rank - seen) / counts[i];
+                }
+                seen += counts[i];
+            }
+            return bounds[bounds.length - 1];
+        }
+    }
+}
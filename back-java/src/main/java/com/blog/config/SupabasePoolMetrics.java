@@ -0,0 +1,33 @@
+package com.blog.config;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recebe do Reactor Netty as métricas de cada pool (um por endereço remoto) do supabaseWebClient
+ * e expõe um snapshot com conexões ativas, ociosas e aquisições pendentes.
+ */
+public class SupabasePoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(poolName + "@" + remoteAddress, metrics);
+    }
+
+    public Map<String, PoolStats> snapshot() {
+        Map<String, PoolStats> result = new LinkedHashMap<>();
+        pools.forEach((name, m) -> result.put(name, new PoolStats(
+                m.acquiredSize(), m.idleSize(), m.pendingAcquireSize(),
+                m.allocatedSize(), m.maxAllocatedSize(), m.maxPendingAcquireSize())));
+        return result;
+    }
+
+    public record PoolStats(int active, int idle, int pending, int allocated, int maxConnections, int maxPending) {}
+}
@@ -0,0 +1,39 @@
+package com.blog.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Com spring.threads.virtual.enabled=true, faz o Schedulers.boundedElastic() do Reactor também rodar
+ * em threads virtuais. A propriedade é lida na inicialização da classe Schedulers, por isso precisa
+ * ser definida aqui, antes de qualquer bean criar o WebClient.
+ * Em Java anterior ao 21 (o pom compila para 17) a propriedade não tem efeito: só avisa no log.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String REACTOR_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    // O logging ainda não foi configurado nesta fase: o DeferredLogFactory guarda as mensagens até lá
+    private final Log log;
+
+    public VirtualThreadsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(VirtualThreadsEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (!virtual) return;
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true (perfil virtual), mas o Java em uso é o "
+                    + Runtime.version().feature() + ": threads virtuais exigem Java 21, as requisições seguem em threads de plataforma");
+            return;
+        }
+        if (System.getProperty(REACTOR_VIRTUAL_THREADS) == null) {
+            System.setProperty(REACTOR_VIRTUAL_THREADS, "true");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.blog.controller;
 
+import com.blog.config.SupabaseMetrics;
+import com.blog.config.SupabasePoolMetrics;
+import com.blog.service.PostCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,6 +13,16 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    private final PostCache postCache;
+    private final SupabasePoolMetrics poolMetrics;
+    private final SupabaseMetrics supabaseMetrics;
+
+    public HealthController(PostCache postCache, SupabasePoolMetrics poolMetrics, SupabaseMetrics supabaseMetrics) {
+        this.postCache = postCache;
+        this.poolMetrics = poolMetrics;
+        this.supabaseMetrics = supabaseMetrics;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         return ResponseEntity.ok(Map.of(
@@ -17,4 +30,20 @@ public class HealthController {
                 "timestamp", Instant.now().toString()
         ));
     }
+
+    @GetMapping("/health/cache")
+    public ResponseEntity<PostCache.CacheStats> cache() {
+        return ResponseEntity.ok(postCache.stats());
+    }
+
+    @GetMapping("/health/pool")
+    public ResponseEntity<Map<String, SupabasePoolMetrics.PoolStats>> pool() {
+        return ResponseEntity.ok(poolMetrics.snapshot());
+    }
+
+    // Resumo legível (count, p50/p95/p99 em segundos) do que /metrics expõe em buckets
+    @GetMapping("/health/supabase")
+    public ResponseEntity<Map<String, SupabaseMetrics.OperationStats>> supabase() {
+        return ResponseEntity.ok(supabaseMetrics.snapshot());
+    }
 }
@@ -0,0 +1,150 @@
+package com.blog.controller;
+
+import com.blog.model.Post;
+import com.blog.model.PostPage;
+import com.blog.model.PostSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monta respostas 200 com ETag forte, Last-Modified e Cache-Control para os GETs de posts.
+ * O ETag vem de id + updated_at + variantes da imagem (geradas depois do upload, sem mudar
+ * updated_at), sem serializar o corpo; o Spring (MVC e WebFlux) compara com
+ * If-None-Match / If-Modified-Since e responde 304 sem escrever o body.
+ * O body sai como bytes prontos do {@link JsonResponseCache}, em gzip quando o cliente aceita.
+ */
+@Component
+public class HttpCaching {
+
+    private final CacheControl cacheControl;
+    private final JsonResponseCache responseCache;
+
+    public HttpCaching(@Value("${app.http.max-age-seconds:60}") long maxAgeSeconds,
+                       JsonResponseCache responseCache) {
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * @param acceptEncoding cabeçalho Accept-Encoding da requisição (pode ser null)
+     */
+    public ResponseEntity<Object> ok(Object body, String acceptEncoding) {
+        var builder = ResponseEntity.ok().cacheControl(cacheControl);
+        Instant lastModified = lastModified(body);
+        if (lastModified != null) builder.lastModified(lastModified);
+        String etag = etag(body);
+        if (etag == null) return builder.body(body);
+        if (!responseCache.enabled()) return builder.eTag(etag).body(body);
+
+        JsonResponseCache.Encoded encoded = responseCache.get(representation(body) + etag, body);
+        builder.contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && acceptsGzip(acceptEncoding)) {
+            // Outra codificação, outros bytes: o ETag forte precisa ser diferente do da versão sem gzip
+            return builder.eTag(etag.substring(0, etag.length() - 1) + "-gz\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(encoded.gzip());
+        }
+        return builder.eTag(etag).body(encoded.json());
+    }
+
+    // Listas de Post e de PostSummary com os mesmos ids e versões têm o mesmo ETag, mas não o mesmo JSON
+    private static String representation(Object body) {
+        List<?> items = body instanceof PostPage<?> page ? page.items() : body instanceof List<?> list ? list : null;
+        String kind = body instanceof Post ? "post" : body instanceof PostPage<?> ? "page" : "list";
+        if (items == null || items.isEmpty()) return kind + ":";
+        return kind + (items.get(0) instanceof PostSummary ? ":summary:" : ":full:");
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static String etag(Object body) {
+        if (body instanceof Post p) {
+            String tag = p.getId() + "-" + Long.toHexString(micros(version(p)));
+            return "\"" + (p.getImageVariants() != null ? tag + "-" + Integer.toHexString(p.getImageVariants().hashCode()) : tag) + "\"";
+        }
+        long h = 0xcbf29ce484222325L;
+        List<?> items;
+        if (body instanceof PostPage<?> page) {
+            items = page.items();
+            h = mix(h, page.nextCursor() != null ? page.nextCursor().hashCode() : 0);
+        } else if (body instanceof List<?> list) {
+            items = list;
+        } else {
+            return null;
+        }
+        for (Object item : items) {
+            if (item instanceof Post p) {
+                h = mix(mix(mix(h, p.getId() != null ? p.getId().hashCode() : 0), micros(version(p))), variants(p.getImageVariants()));
+            } else if (item instanceof PostSummary s) {
+                h = mix(mix(mix(h, s.getId() != null ? s.getId().hashCode() : 0), micros(version(s))), variants(s.getImageVariants()));
+            } else {
+                return null;
+            }
+        }
+        return "\"" + Long.toHexString(mix(h, items.size())) + "\"";
+    }
+
+    static Instant lastModified(Object body) {
+        if (body instanceof Post p) return version(p);
+        List<?> items = body instanceof PostPage<?> page ? page.items() : body instanceof List<?> list ? list : null;
+        if (items == null) return null;
+        Instant max = null;
+        for (Object item : items) {
+            Instant v = item instanceof Post p ? version(p) : item instanceof PostSummary s ? version(s) : null;
+            if (v != null && (max == null || v.isAfter(max))) max = v;
+        }
+        return max;
+    }
+
+    private static Instant version(Post p) {
+        return p.getUpdatedAt() != null ? p.getUpdatedAt() : p.getDate();
+    }
+
+    private static Instant version(PostSummary s) {
+        return s.getUpdatedAt() != null ? s.getUpdatedAt() : s.getDate();
+    }
+
+    private static long variants(Map<String, String> variants) {
+        return variants == null ? 0 : variants.hashCode();
+    }
+
+    private static long micros(Instant instant) {
+        return instant == null ? 0 : instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    // FNV-1a sobre os 8 bytes do valor
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (value >>> (i * 8)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,112 @@
+package com.blog.controller;
+
+import com.blog.service.PostCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corpo JSON já serializado (e uma cópia gzip) das respostas do {@link HttpCaching}, por representação
+ * e ETag: um GET repetido não passa pelo Jackson nem pelo gzip de novo. O ETag muda com a versão dos
+ * posts, então uma edição nunca serve bytes velhos; mesmo assim o cache esvazia a cada invalidação do
+ * PostCache (escritas, variantes de imagem), o que cobre mudanças que não alteram updated_at.
+ * LRU limitado pelo total de bytes (app.http.response-cache-bytes; 0 desliga).
+ */
+@Component
+public class JsonResponseCache {
+
+    // Abaixo disso o gzip quase não reduz e só gasta CPU de quem descomprime
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final PostCache postCache;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Encoded> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long bytes;
+    private long generation = -1;
+
+    public JsonResponseCache(ObjectMapper objectMapper, PostCache postCache,
+                             @Value("${app.http.response-cache-bytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.postCache = postCache;
+        this.maxBytes = maxBytes;
+    }
+
+    record Encoded(byte[] json, byte[] gzip) {
+        int size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    boolean enabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Bytes do body para a chave (representação + ETag), serializando só na primeira vez.
+     */
+    Encoded get(String key, Object body) {
+        long current = postCache.generation();
+        lock.lock();
+        try {
+            if (generation != current) {
+                entries.clear();
+                bytes = 0;
+                generation = current;
+            }
+            Encoded hit = entries.get(key);
+            if (hit != null) return hit;
+        } finally {
+            lock.unlock();
+        }
+
+        // Fora do lock: outra thread pode serializar o mesmo body ao mesmo tempo, o que só custa CPU
+        Encoded encoded = encode(body);
+        if (encoded.size() > maxBytes) return encoded;
+        lock.lock();
+        try {
+            if (generation == current) {
+                Encoded previous = entries.put(key, encoded);
+                bytes += encoded.size() - (previous != null ? previous.size() : 0);
+                Iterator<Map.Entry<String, Encoded>> it = entries.entrySet().iterator();
+                while (bytes > maxBytes && it.hasNext()) {
+                    bytes -= it.next().getValue().size();
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return encoded;
+    }
+
+    private Encoded encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Encoded(json, json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.controller;
+
+import com.blog.config.SupabaseMetrics;
+import com.blog.config.SupabasePoolMetrics;
+import com.blog.service.PostCache;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Scrape do Prometheus (formato texto 0.0.4): histogramas por operação das chamadas ao Supabase
+ * (latência, tamanho da resposta, desserialização), respostas por status, pool de conexões e PostCache.
+ * Os p50/p95/p99 também saem prontos, calculados dos mesmos buckets que o histogram_quantile usaria.
+ */
+@RestController
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final SupabaseMetrics supabaseMetrics;
+    private final SupabasePoolMetrics poolMetrics;
+    private final PostCache postCache;
+
+    public MetricsController(SupabaseMetrics supabaseMetrics, SupabasePoolMetrics poolMetrics, PostCache postCache) {
+        this.supabaseMetrics = supabaseMetrics;
+        this.poolMetrics = poolMetrics;
+        this.postCache = postCache;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> metrics() {
+        StringBuilder out = new StringBuilder(8192);
+        Map<String, SupabaseMetrics.OperationStats> operations = supabaseMetrics.snapshot();
+
+        histogram(out, "supabase_request_duration_seconds",
+                "Tempo da chamada ao Supabase até o último byte da resposta, sem desserialização",
+                operations, SupabaseMetrics.OperationStats::duration);
+        quantiles(out, "supabase_request_duration_quantile_seconds",
+                "p50/p95/p99 de supabase_request_duration_seconds", operations, SupabaseMetrics.OperationStats::duration);
+        histogram(out, "supabase_response_size_bytes", "Tamanho do corpo das respostas do Supabase",
+                operations, SupabaseMetrics.OperationStats::responseBytes);
+        histogram(out, "supabase_decode_duration_seconds", "Tempo de desserialização do JSON das respostas",
+                operations, SupabaseMetrics.OperationStats::decode);
+        quantiles(out, "supabase_decode_duration_quantile_seconds",
+                "p50/p95/p99 de supabase_decode_duration_seconds", operations, SupabaseMetrics.OperationStats::decode);
+
+        header(out, "supabase_responses_total", "counter", "Respostas do Supabase por status (error: sem resposta)");
+        operations.forEach((operation, stats) -> stats.statuses().forEach((status, count) ->
+                out.append("supabase_responses_total{operation=\"").append(escape(operation))
+                        .append("\",status=\"").append(escape(status)).append("\"} ").append(count).append('\n')));
+
+        Map<String, SupabasePoolMetrics.PoolStats> pools = poolMetrics.snapshot();
+        poolGauge(out, pools, "supabase_pool_active_connections", "Conexões em uso", SupabasePoolMetrics.PoolStats::active);
+        poolGauge(out, pools, "supabase_pool_idle_connections", "Conexões ociosas", SupabasePoolMetrics.PoolStats::idle);
+        poolGauge(out, pools, "supabase_pool_pending_acquires", "Aquisições de conexão esperando", SupabasePoolMetrics.PoolStats::pending);
+
+        PostCache.CacheStats cache = postCache.stats();
+        header(out, "post_cache_hits_total", "counter", "Acertos do PostCache");
+        out.append("post_cache_hits_total ").append(cache.hits()).append('\n');
+        header(out, "post_cache_misses_total", "counter", "Faltas do PostCache");
+        out.append("post_cache_misses_total ").append(cache.misses()).append('\n');
+        header(out, "post_cache_evictions_total", "counter", "Entradas removidas do PostCache por limite");
+        out.append("post_cache_evictions_total ").append(cache.evictions()).append('\n');
+        header(out, "post_cache_entries", "gauge", "Entradas no PostCache");
+        out.append("post_cache_entries ").append(cache.size()).append('\n');
+
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(out.toString());
+    }
+
+    private static void histogram(StringBuilder out, String name, String help,
+                                  Map<String, SupabaseMetrics.OperationStats> operations,
+                                  Function<SupabaseMetrics.OperationStats, SupabaseMetrics.HistogramSnapshot> metric) {
+        header(out, name, "histogram", help);
+        operations.forEach((operation, stats) -> {
+            SupabaseMetrics.HistogramSnapshot h = metric.apply(stats);
+            String label = "operation=\"" + escape(operation) + "\"";
+            long cumulative = 0;
+            for (int i = 0; i < h.counts().length; i++) {
+                cumulative += h.counts()[i];
+                String le = i < h.bounds().length ? number(h.bounds()[i]) : "+Inf";
+                out.append(name).append("_bucket{").append(label).append(",le=\"").append(le).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            out.append(name).append("_sum{").append(label).append("} ").append(number(h.sum())).append('\n');
+            out.append(name).append("_count{").append(label).append("} ").append(cumulative).append('\n');
+        });
+    }
+
+    private static void quantiles(StringBuilder out, String name, String help,
+                                  Map<String, SupabaseMetrics.OperationStats> operations,
+                                  Function<SupabaseMetrics.OperationStats, SupabaseMetrics.HistogramSnapshot> metric) {
+        header(out, name, "gauge", help);
+        operations.forEach((operation, stats) -> {
+            SupabaseMetrics.HistogramSnapshot h = metric.apply(stats);
+            if (h.count() == 0) return;
+            for (double q : QUANTILES) {
+                out.append(name).append("{operation=\"").append(escape(operation)).append("\",quantile=\"")
+                        .append(number(q)).append("\"} ").append(number(h.quantile(q))).append('\n');
+            }
+        });
+    }
+
+    private static void poolGauge(StringBuilder out, Map<String, SupabasePoolMetrics.PoolStats> pools, String name,
+                                  String help, Function<SupabasePoolMetrics.PoolStats, Integer> value) {
+        header(out, name, "gauge", help);
+        pools.forEach((pool, stats) -> out.append(name).append("{pool=\"").append(escape(pool)).append("\"} ")
+                .append(value.apply(stats)).append('\n'));
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    // 0.0001 em vez de 1.0E-4: os limites (le) precisam sair iguais a cada scrape
+    private static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return Double.toString(value).replace("Infinity", "Inf");
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,196 @@
+package com.blog.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitor de multipart/form-data em streaming: entrega cada parte como um InputStream que termina no
+ * próximo delimitador, lendo o corpo da requisição uma única vez. Nada vai para disco nem é acumulado
+ * além de um buffer fixo, ao contrário do MultipartFile (que o Tomcat grava em arquivo temporário).
+ * Como o Tomcat não lê mais o corpo, o limite total da requisição é conferido aqui, a cada leitura.
+ */
+final class MultipartReader {
+
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buf;
+    private final long maxBytes;
+    private long consumed;
+    private int pos;
+    private int end;
+    private boolean eof;
+    private PartInputStream current;
+    private boolean finished;
+
+    MultipartReader(InputStream in, String boundary, long maxBytes) {
+        this.in = in;
+        this.maxBytes = maxBytes;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buf = new byte[Math.max(16 * 1024, delimiter.length * 2)];
+        // O primeiro delimitador não tem CRLF antes; com ele, o preâmbulo vira uma "parte" a descartar
+        buf[end++] = '\r';
+        buf[end++] = '\n';
+        this.current = new PartInputStream();
+    }
+
+    /**
+     * @param maxBytes tamanho máximo do corpo; passar dele lança MaxUploadSizeExceededException (413)
+     * @throws IllegalArgumentException se o Content-Type não for multipart com boundary
+     */
+    static MultipartReader of(String contentType, InputStream in, long maxBytes) {
+        MediaType type = contentType != null ? MediaType.parseMediaType(contentType) : null;
+        String boundary = type != null && type.isCompatibleWith(MediaType.MULTIPART_FORM_DATA)
+                ? type.getParameter("boundary") : null;
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IllegalArgumentException("Esperado multipart/form-data com boundary");
+        }
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return new MultipartReader(in, boundary, maxBytes);
+    }
+
+    record Part(String name, String filename, String contentType, InputStream content) {}
+
+    /**
+     * Próxima parte, ou null no fim. O que sobrou da parte anterior é descartado.
+     */
+    Part next() throws IOException {
+        if (finished) return null;
+        current.drain();
+
+        // Depois do delimitador: "--" encerra o corpo; CRLF abre os cabeçalhos da próxima parte
+        if (!ensure(2)) throw new EOFException("multipart sem delimitador final");
+        if (buf[pos] == '-' && buf[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        if (buf[pos] != '\r' || buf[pos + 1] != '\n') throw new IllegalArgumentException("multipart malformado");
+        pos += 2;
+
+        String name = null;
+        String filename = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) throw new IllegalArgumentException("cabeçalhos da parte muito grandes");
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String header = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (header.equalsIgnoreCase("Content-Disposition")) {
+                ContentDisposition disposition = ContentDisposition.parse(value);
+                name = disposition.getName();
+                filename = disposition.getFilename();
+            } else if (header.equalsIgnoreCase("Content-Type")) {
+                contentType = value;
+            }
+        }
+        current = new PartInputStream();
+        return new Part(name, filename, contentType, current);
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = pos; i + 1 < end; i++) {
+                if (buf[i] == '\r' && buf[i + 1] == '\n') {
+                    // Cabeçalhos de multipart são UTF-8 na prática (nomes de arquivo com acento)
+                    String line = new String(buf, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            if (end - pos >= MAX_HEADER_BYTES) throw new IllegalArgumentException("cabeçalhos da parte muito grandes");
+            if (eof) throw new EOFException("multipart terminou no meio dos cabeçalhos");
+            fill();
+        }
+    }
+
+    private boolean ensure(int n) throws IOException {
+        while (end - pos < n && !eof) fill();
+        return end - pos >= n;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, end - pos);
+            end -= pos;
+            pos = 0;
+        }
+        int n = in.read(buf, end, buf.length - end);
+        if (n < 0) {
+            eof = true;
+            return;
+        }
+        end += n;
+        consumed += n;
+        if (consumed > maxBytes) throw new MaxUploadSizeExceededException(maxBytes);
+    }
+
+    private int indexOfDelimiter() {
+        byte first = delimiter[0];
+        int last = end - delimiter.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            if (buf[i] != first) continue;
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buf[i + j] != delimiter[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done || current != this) return -1;
+            if (len == 0) return 0;
+            while (true) {
+                int at = indexOfDelimiter();
+                if (at == pos) {
+                    pos += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                // Sem delimitador à vista, os últimos bytes podem ser o começo dele: ficam para a próxima leitura
+                int safe = at >= 0 ? at - pos : end - pos - (delimiter.length - 1);
+                if (safe > 0) {
+                    int n = Math.min(len, safe);
+                    System.arraycopy(buf, pos, b, off, n);
+                    pos += n;
+                    return n;
+                }
+                if (eof) throw new EOFException("multipart sem delimitador final");
+                fill();
+            }
+        }
+
+        void drain() throws IOException {
+            byte[] skip = new byte[8192];
+            while (read(skip, 0, skip.length) >= 0) {
+                // descarta
+            }
+        }
+    }
+}
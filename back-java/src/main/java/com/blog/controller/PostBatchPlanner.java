@@ -0,0 +1,114 @@
+package com.blog.controller;
+
+import com.blog.model.BatchOperation;
+import com.blog.model.BatchResult;
+import com.blog.model.ContentBlock;
+import com.blog.model.UpdatePostRequest;
+import com.blog.service.PostBatch;
+import com.blog.service.PostValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Valida e sanitiza todas as operações de um batch em uma única passada, com as mesmas regras
+ * dos endpoints individuais. As inválidas já saem como resultado (400) e não vão ao Supabase.
+ * Um id só pode ter um update por batch: os updates vão em PATCHes paralelos, e dois para o mesmo
+ * post chegariam em ordem qualquer.
+ */
+@Component
+public class PostBatchPlanner {
+
+    private final PostValidator postValidator;
+    private final int maxOperations;
+
+    public PostBatchPlanner(PostValidator postValidator, @Value("${app.batch.max-operations:5000}") int maxOperations) {
+        this.postValidator = postValidator;
+        this.maxOperations = maxOperations;
+    }
+
+    public Plan plan(List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("batch deve ter pelo menos uma operação");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("batch não pode ter mais de " + maxOperations + " operações");
+        }
+
+        List<PostBatch.Create> creates = new ArrayList<>();
+        List<PostBatch.Update> updates = new ArrayList<>();
+        List<PostBatch.Delete> deletes = new ArrayList<>();
+        List<BatchResult> rejected = new ArrayList<>();
+        Map<String, Integer> updatedAt = new HashMap<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String op = operation != null ? operation.getOp() : null;
+            String id = operation != null ? operation.getId() : null;
+            UpdatePostRequest data = operation != null && operation.getData() != null ? operation.getData() : new UpdatePostRequest();
+
+            if ("create".equals(op)) {
+                String title = data.getTitle();
+                String category = data.getCategory();
+                String excerpt = data.getExcerpt();
+                List<String> tags = data.getTags() != null ? data.getTags() : List.of();
+                List<ContentBlock> conteudo = data.getConteudo() != null ? data.getConteudo() : List.of();
+
+                var validation = postValidator.validateCreatePostData(title, category, tags, data.getImage(), excerpt, conteudo, data.getReadingTime());
+                if (!validation.valid()) {
+                    rejected.add(BatchResult.error(i, op, null, 400, validation.errors()));
+                    continue;
+                }
+                creates.add(new PostBatch.Create(i, postValidator.sanitizeCreatePostData(
+                        title, category, tags, data.getImage(), excerpt, conteudo, data.getReadingTime())));
+            } else if ("update".equals(op)) {
+                if (id == null || id.isBlank()) {
+                    rejected.add(BatchResult.error(i, op, id, 400, List.of("id é obrigatório")));
+                    continue;
+                }
+                var validation = postValidator.validateUpdatePostData(data.getTitle(), data.getCategory(), data.getTags(),
+                        data.getImage(), data.getExcerpt(), data.getConteudo(), data.getReadingTime());
+                if (!validation.valid()) {
+                    rejected.add(BatchResult.error(i, op, id, 400, validation.errors()));
+                    continue;
+                }
+                Integer first = updatedAt.putIfAbsent(id, i);
+                if (first != null) {
+                    rejected.add(BatchResult.error(i, op, id, 400, List.of("id já tem um update neste batch (operação " + first + ")")));
+                    continue;
+                }
+                updates.add(new PostBatch.Update(i, id, postValidator.sanitizeUpdatePostData(
+                        data.getTitle(), data.getCategory(), data.getTags(), data.getImage(), data.getExcerpt(),
+                        data.getConteudo(), data.getReadingTime())));
+            } else if ("delete".equals(op)) {
+                if (id == null || id.isBlank()) {
+                    rejected.add(BatchResult.error(i, op, id, 400, List.of("id é obrigatório")));
+                    continue;
+                }
+                deletes.add(new PostBatch.Delete(i, id));
+            } else {
+                rejected.add(BatchResult.error(i, op, id, 400, List.of("op deve ser create, update ou delete")));
+            }
+        }
+        return new Plan(new PostBatch(creates, updates, deletes), rejected);
+    }
+
+    public record Plan(PostBatch batch, List<BatchResult> rejected) {
+
+        /**
+         * Junta os resultados do Supabase com os rejeitados na validação, na ordem do pedido.
+         */
+        public List<BatchResult> merge(List<BatchResult> applied) {
+            List<BatchResult> all = new ArrayList<>(rejected.size() + applied.size());
+            all.addAll(rejected);
+            all.addAll(applied);
+            all.sort(Comparator.comparingInt(BatchResult::index));
+            return all;
+        }
+    }
+}
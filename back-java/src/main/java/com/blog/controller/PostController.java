@@ -1,63 +1,135 @@
 package com.blog.controller;
 
+import com.blog.model.BatchOperation;
+import com.blog.model.ContentBlock;
+import com.blog.model.CreatePostRequest;
+import com.blog.model.Post;
+import com.blog.model.UpdatePostRequest;
+import com.blog.service.PostBatchService;
+import com.blog.service.PostSearchIndex;
 import com.blog.service.PostService;
 import com.blog.service.PostValidator;
 import com.blog.service.UploadService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/posts")
 public class PostController {
 
     private final PostService postService;
     private final PostValidator postValidator;
     private final UploadService uploadService;
-    private final ObjectMapper objectMapper;
+    private final PostRequestParser requestParser;
+    private final HttpCaching httpCaching;
+    private final PostBatchPlanner batchPlanner;
+    private final PostBatchService batchService;
+    private final PostSearchIndex searchIndex;
 
-    public PostController(PostService postService, PostValidator postValidator, UploadService uploadService, ObjectMapper objectMapper) {
+    public PostController(PostService postService, PostValidator postValidator, UploadService uploadService, PostRequestParser requestParser,
+                          HttpCaching httpCaching, PostBatchPlanner batchPlanner, PostBatchService batchService,
+                          PostSearchIndex searchIndex) {
         this.postService = postService;
         this.postValidator = postValidator;
         this.uploadService = uploadService;
-        this.objectMapper = objectMapper;
+        this.requestParser = requestParser;
+        this.httpCaching = httpCaching;
+        this.batchPlanner = batchPlanner;
+        this.batchService = batchService;
+        this.searchIndex = searchIndex;
     }
 
     @GetMapping
-    public ResponseEntity<?> list() {
+    public ResponseEntity<?> list(@RequestParam(required = false) Integer limit,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) String fields,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            return ResponseEntity.ok(postService.findAll());
+            if ("summary".equals(fields)) {
+                return limit != null || cursor != null
+                        ? httpCaching.ok(postService.findSummaryPage(null, limit, cursor), acceptEncoding)
+                        : httpCaching.ok(postService.findSummaries(null), acceptEncoding);
+            }
+            if (limit != null || cursor != null) {
+                return httpCaching.ok(postService.findPage(null, limit, cursor), acceptEncoding);
+            }
+            return httpCaching.ok(postService.findAll(), acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Busca textual (BM25) no índice em memória; não consulta o Supabase. 503 enquanto o índice carrega.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "q é obrigatório"));
+        }
+        int size = limit == null ? PostService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(PostService.MAX_PAGE_SIZE, limit));
+        if (!searchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", "Índice de busca ainda carregando, tente novamente em instantes"));
+        }
+        return ResponseEntity.ok(searchIndex.search(q, size));
+    }
+
+    /**
+     * Exporta todos os posts em NDJSON (um por linha), escrevendo cada um assim que chega do Supabase.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Post> export() {
+        return postService.exportAll();
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable String id) {
+    public ResponseEntity<?> getById(@PathVariable String id,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             var post = postService.findById(id);
             if (post == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Post not found"));
             }
-            return ResponseEntity.ok(post);
+            return httpCaching.ok(post, acceptEncoding);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
     @GetMapping("/categoria/{categoria}")
-    public ResponseEntity<?> getByCategory(@PathVariable String categoria) {
+    public ResponseEntity<?> getByCategory(@PathVariable String categoria,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            return ResponseEntity.ok(postService.findByCategory(categoria));
+            if ("summary".equals(fields)) {
+                return limit != null || cursor != null
+                        ? httpCaching.ok(postService.findSummaryPage(categoria, limit, cursor), acceptEncoding)
+                        : httpCaching.ok(postService.findSummaries(categoria), acceptEncoding);
+            }
+            if (limit != null || cursor != null) {
+                return httpCaching.ok(postService.findPage(categoria, limit, cursor), acceptEncoding);
+            }
+            return httpCaching.ok(postService.findByCategory(categoria), acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -87,35 +159,34 @@ public class PostController {
                     imagePath = imageUrl;
                 }
             }
-            return createFromParams(title, category, tags, excerpt, conteudo, readingTime, imagePath);
+            return createFromParams(title, category, requestParser.parseTags(tags), excerpt,
+                    requestParser.parseConteudo(conteudo), readingTime, imagePath);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> createJson(@RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> createJson(@RequestBody CreatePostRequest body) {
         try {
-            String imagePath = body.get("image") != null ? body.get("image").toString() : null;
             return createFromParams(
-                    (String) body.get("title"),
-                    (String) body.get("category"),
-                    body.get("tags"),
-                    (String) body.get("excerpt"),
-                    body.get("conteudo"),
-                    body.get("readingTime") != null ? body.get("readingTime").toString() : null,
-                    imagePath
+                    body.getTitle(),
+                    body.getCategory(),
+                    body.getTags() != null ? body.getTags() : List.of(),
+                    body.getExcerpt(),
+                    body.getConteudo() != null ? body.getConteudo() : List.of(),
+                    body.getReadingTime(),
+                    body.getImage()
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
-    private ResponseEntity<?> createFromParams(Object title, Object category, Object tagsObj, Object excerpt,
-                                                Object conteudoObj, Object readingTime, String imagePath) {
-        List<Map<String, Object>> conteudo = parseConteudo(conteudoObj);
-        List<String> tags = parseTags(tagsObj);
-
+    private ResponseEntity<?> createFromParams(String title, String category, List<String> tags, String excerpt,
+                                                List<ContentBlock> conteudo, String readingTime, String imagePath) {
         var validation = postValidator.validateCreatePostData(title, category, tags, imagePath, excerpt, conteudo, readingTime);
         if (!validation.valid()) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -125,13 +196,13 @@ public class PostController {
         }
 
         var sanitized = postValidator.sanitizeCreatePostData(
-                title != null ? title.toString() : "",
-                category != null ? category.toString() : "",
+                title != null ? title : "",
+                category != null ? category : "",
                 tags,
                 imagePath != null ? imagePath : "",
-                excerpt != null ? excerpt.toString() : "",
+                excerpt != null ? excerpt : "",
                 conteudo,
-                readingTime != null ? readingTime.toString() : null
+                readingTime
         );
 
         var post = postService.create(sanitized, imagePath);
@@ -163,37 +234,37 @@ public class PostController {
                     imagePath = imageUrl;
                 }
             }
-            return updateFromParams(id, title, category, tags, excerpt, conteudo, readingTime, imagePath);
+            return updateFromParams(id, title, category,
+                    tags != null ? requestParser.parseTags(tags) : null, excerpt,
+                    conteudo != null ? requestParser.parseConteudo(conteudo) : null, readingTime, imagePath);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> updateJson(@PathVariable String id, @RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> updateJson(@PathVariable String id, @RequestBody UpdatePostRequest body) {
         try {
-            String imagePath = body.get("image") != null ? body.get("image").toString() : null;
             return updateFromParams(
                     id,
-                    body.get("title") != null ? body.get("title").toString() : null,
-                    body.get("category") != null ? body.get("category").toString() : null,
-                    body.get("tags"),
-                    body.get("excerpt") != null ? body.get("excerpt").toString() : null,
-                    body.get("conteudo"),
-                    body.get("readingTime") != null ? body.get("readingTime").toString() : null,
-                    imagePath
+                    body.getTitle(),
+                    body.getCategory(),
+                    body.getTags(),
+                    body.getExcerpt(),
+                    body.getConteudo(),
+                    body.getReadingTime(),
+                    body.getImage()
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
-    private ResponseEntity<?> updateFromParams(String id, Object title, Object category, Object tagsObj,
-                                                Object excerpt, Object conteudoObj, Object readingTime,
+    private ResponseEntity<?> updateFromParams(String id, String title, String category, List<String> tags,
+                                                String excerpt, List<ContentBlock> conteudo, String readingTime,
                                                 String imagePath) {
-        List<Map<String, Object>> conteudo = conteudoObj != null ? parseConteudo(conteudoObj) : null;
-        List<String> tags = tagsObj != null ? parseTags(tagsObj) : null;
-
         var validation = postValidator.validateUpdatePostData(title, category, tags, imagePath, excerpt, conteudo, readingTime);
         if (!validation.valid()) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -203,13 +274,13 @@ public class PostController {
         }
 
         var sanitized = postValidator.sanitizeUpdatePostData(
-                title != null ? title.toString() : null,
-                category != null ? category.toString() : null,
+                title,
+                category,
                 tags,
                 imagePath,
-                excerpt != null ? excerpt.toString() : null,
+                excerpt,
                 conteudo,
-                readingTime != null ? readingTime.toString() : null
+                readingTime
         );
 
         var post = postService.update(id, sanitized, imagePath);
@@ -219,65 +290,30 @@ public class PostController {
         return ResponseEntity.ok(post);
     }
 
+    /**
+     * Aplica várias operações (create/update/delete) de uma vez; responde com um resultado por item.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> batch(@RequestBody List<BatchOperation> operations) {
+        try {
+            var plan = batchPlanner.plan(operations);
+            return ResponseEntity.ok(Map.of("results", plan.merge(batchService.apply(plan.batch()))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable String id) {
         try {
-            if (!postService.exists(id)) {
+            if (!postService.delete(id)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
-            postService.delete(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> parseConteudo(Object conteudoObj) {
-        if (conteudoObj == null) return List.of();
-        if (conteudoObj instanceof List) return (List<Map<String, Object>>) conteudoObj;
-        if (conteudoObj instanceof Map) {
-            Map<String, Object> map = (Map<String, Object>) conteudoObj;
-            // Se tiver a chave "blocks", extrair a lista de lá
-            if (map.containsKey("blocks") && map.get("blocks") instanceof List) {
-                return (List<Map<String, Object>>) map.get("blocks");
-            }
-            // Se for um Map mas não tiver "blocks", retornar vazio ou tratar como erro
-            return List.of();
-        }
-        if (conteudoObj instanceof String s) {
-            try {
-                Object parsed = objectMapper.readValue(s, Object.class);
-                // Se o JSON parseado for um Map com "blocks"
-                if (parsed instanceof Map) {
-                    Map<String, Object> map = (Map<String, Object>) parsed;
-                    if (map.containsKey("blocks") && map.get("blocks") instanceof List) {
-                        return (List<Map<String, Object>>) map.get("blocks");
-                    }
-                }
-                // Se for uma lista direta
-                if (parsed instanceof List) {
-                    return (List<Map<String, Object>>) parsed;
-                }
-                return List.of();
-            } catch (Exception e) {
-                throw new IllegalArgumentException("conteudo deve ser um JSON válido: " + e.getMessage());
-            }
-        }
-        return List.of();
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<String> parseTags(Object tagsObj) {
-        if (tagsObj == null) return List.of();
-        if (tagsObj instanceof List) return (List<String>) tagsObj;
-        if (tagsObj instanceof String s) {
-            try {
-                List<String> parsed = objectMapper.readValue(s, new TypeReference<>() {});
-                if (parsed != null) return parsed;
-            } catch (Exception ignored) {}
-            return List.of(s.split(",")).stream().map(String::trim).filter(t -> !t.isEmpty()).toList();
-        }
-        return List.of();
-    }
 }
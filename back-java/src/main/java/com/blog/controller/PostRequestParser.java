@@ -0,0 +1,40 @@
+package com.blog.controller;
+
+import com.blog.model.ContentBlock;
+import com.blog.model.ContentBlockListDeserializer;
+import com.blog.model.TagListDeserializer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converte os campos "conteudo" e "tags" que chegam como texto (multipart) nos tipos do modelo.
+ * Os corpos JSON já são lidos direto nos DTOs pelos mesmos deserializadores.
+ */
+@Component
+public class PostRequestParser {
+
+    private final ObjectMapper objectMapper;
+
+    public PostRequestParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<ContentBlock> parseConteudo(String conteudo) {
+        if (conteudo == null || conteudo.isBlank()) return List.of();
+        try (JsonParser p = objectMapper.createParser(conteudo)) {
+            p.nextToken();
+            List<ContentBlock> blocks = ContentBlockListDeserializer.read(p);
+            return blocks != null ? blocks : List.of();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("conteudo deve ser um JSON válido: " + e.getMessage());
+        }
+    }
+
+    public List<String> parseTags(String tags) {
+        if (tags == null) return List.of();
+        return TagListDeserializer.parse(tags, objectMapper);
+    }
+}
@@ -0,0 +1,283 @@
+package com.blog.controller;
+
+import com.blog.model.BatchOperation;
+import com.blog.model.ContentBlock;
+import com.blog.model.CreatePostRequest;
+import com.blog.model.Post;
+import com.blog.model.UpdatePostRequest;
+import com.blog.service.PostBatchService;
+import com.blog.service.PostSearchIndex;
+import com.blog.service.PostService;
+import com.blog.service.PostValidator;
+import com.blog.service.UploadService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Mesma API de {@link PostController}, sem bloquear threads: ativo com o profile "reactive" (Reactor Netty).
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/posts")
+public class ReactivePostController {
+
+    private final PostService postService;
+    private final PostValidator postValidator;
+    private final UploadService uploadService;
+    private final PostRequestParser requestParser;
+    private final HttpCaching httpCaching;
+    private final PostBatchPlanner batchPlanner;
+    private final PostBatchService batchService;
+    private final PostSearchIndex searchIndex;
+
+    public ReactivePostController(PostService postService, PostValidator postValidator, UploadService uploadService, PostRequestParser requestParser,
+                                  HttpCaching httpCaching, PostBatchPlanner batchPlanner, PostBatchService batchService,
+                                  PostSearchIndex searchIndex) {
+        this.postService = postService;
+        this.postValidator = postValidator;
+        this.uploadService = uploadService;
+        this.requestParser = requestParser;
+        this.httpCaching = httpCaching;
+        this.batchPlanner = batchPlanner;
+        this.batchService = batchService;
+        this.searchIndex = searchIndex;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> list(@RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return Mono.defer(() -> {
+            Mono<?> result;
+            if ("summary".equals(fields)) {
+                result = limit != null || cursor != null
+                        ? postService.findSummaryPageAsync(null, limit, cursor)
+                        : postService.findSummariesAsync(null);
+            } else {
+                result = limit != null || cursor != null
+                        ? postService.findPageAsync(null, limit, cursor)
+                        : postService.findAllAsync();
+            }
+            return result.map(body -> httpCaching.ok(body, acceptEncoding));
+        }).onErrorResume(this::error);
+    }
+
+    /**
+     * Busca textual (BM25) no índice em memória; não consulta o Supabase. 503 enquanto o índice carrega.
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(@RequestParam(required = false) String q,
+                                               @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "q é obrigatório")));
+        }
+        int size = limit == null ? PostService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(PostService.MAX_PAGE_SIZE, limit));
+        if (!searchIndex.isReady()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", "Índice de busca ainda carregando, tente novamente em instantes")));
+        }
+        return Mono.just(ResponseEntity.ok(searchIndex.search(q, size)));
+    }
+
+    /**
+     * Exporta todos os posts em NDJSON (um por linha), escrevendo cada um assim que chega do Supabase.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Post> export() {
+        return postService.exportAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getById(@PathVariable String id,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return postService.findByIdAsync(id)
+                .map(body -> httpCaching.ok(body, acceptEncoding))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Post not found")))
+                .onErrorResume(this::error);
+    }
+
+    @GetMapping("/categoria/{categoria}")
+    public Mono<ResponseEntity<Object>> getByCategory(@PathVariable String categoria,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) String fields,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return Mono.defer(() -> {
+            Mono<?> result;
+            if ("summary".equals(fields)) {
+                result = limit != null || cursor != null
+                        ? postService.findSummaryPageAsync(categoria, limit, cursor)
+                        : postService.findSummariesAsync(categoria);
+            } else {
+                result = limit != null || cursor != null
+                        ? postService.findPageAsync(categoria, limit, cursor)
+                        : postService.findByCategoryAsync(categoria);
+            }
+            return result.map(body -> httpCaching.ok(body, acceptEncoding));
+        }).onErrorResume(this::error);
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<Object>> create(ServerWebExchange exchange) {
+        return exchange.getMultipartData()
+                .flatMap(parts -> resolveImage(parts)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(imagePath -> createFromParams(
+                                field(parts, "title"),
+                                field(parts, "category"),
+                                requestParser.parseTags(field(parts, "tags")),
+                                field(parts, "excerpt"),
+                                requestParser.parseConteudo(field(parts, "conteudo")),
+                                field(parts, "readingTime"),
+                                imagePath.orElse(null))))
+                .onErrorResume(this::error);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> createJson(@RequestBody CreatePostRequest body) {
+        return Mono.defer(() -> createFromParams(
+                        body.getTitle(),
+                        body.getCategory(),
+                        body.getTags() != null ? body.getTags() : List.of(),
+                        body.getExcerpt(),
+                        body.getConteudo() != null ? body.getConteudo() : List.of(),
+                        body.getReadingTime(),
+                        body.getImage()))
+                .onErrorResume(this::error);
+    }
+
+    private Mono<ResponseEntity<Object>> createFromParams(String title, String category, List<String> tags, String excerpt,
+                                                          List<ContentBlock> conteudo, String readingTime, String imagePath) {
+        var validation = postValidator.validateCreatePostData(title, category, tags, imagePath, excerpt, conteudo, readingTime);
+        if (!validation.valid()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                    "error", "Validação falhou",
+                    "details", validation.errors()
+            )));
+        }
+
+        var sanitized = postValidator.sanitizeCreatePostData(
+                title != null ? title : "",
+                category != null ? category : "",
+                tags,
+                imagePath != null ? imagePath : "",
+                excerpt != null ? excerpt : "",
+                conteudo,
+                readingTime
+        );
+
+        return postService.createAsync(sanitized, imagePath)
+                .map(post -> ResponseEntity.status(HttpStatus.CREATED).body((Object) post));
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<Object>> update(@PathVariable String id, ServerWebExchange exchange) {
+        return exchange.getMultipartData()
+                .flatMap(parts -> resolveImage(parts)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(imagePath -> updateFromParams(
+                                id,
+                                field(parts, "title"),
+                                field(parts, "category"),
+                                parts.containsKey("tags") ? requestParser.parseTags(field(parts, "tags")) : null,
+                                field(parts, "excerpt"),
+                                parts.containsKey("conteudo") ? requestParser.parseConteudo(field(parts, "conteudo")) : null,
+                                field(parts, "readingTime"),
+                                imagePath.orElse(null))))
+                .onErrorResume(this::error);
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> updateJson(@PathVariable String id, @RequestBody UpdatePostRequest body) {
+        return Mono.defer(() -> updateFromParams(
+                        id,
+                        body.getTitle(),
+                        body.getCategory(),
+                        body.getTags(),
+                        body.getExcerpt(),
+                        body.getConteudo(),
+                        body.getReadingTime(),
+                        body.getImage()))
+                .onErrorResume(this::error);
+    }
+
+    private Mono<ResponseEntity<Object>> updateFromParams(String id, String title, String category, List<String> tags,
+                                                          String excerpt, List<ContentBlock> conteudo, String readingTime,
+                                                          String imagePath) {
+        var validation = postValidator.validateUpdatePostData(title, category, tags, imagePath, excerpt, conteudo, readingTime);
+        if (!validation.valid()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                    "error", "Validação falhou",
+                    "details", validation.errors()
+            )));
+        }
+
+        var sanitized = postValidator.sanitizeUpdatePostData(
+                title,
+                category,
+                tags,
+                imagePath,
+                excerpt,
+                conteudo,
+                readingTime
+        );
+
+        return postService.updateAsync(id, sanitized, imagePath)
+                .map(post -> ResponseEntity.ok((Object) post))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Post não encontrado")));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> batch(@RequestBody List<BatchOperation> operations) {
+        return Mono.defer(() -> {
+            var plan = batchPlanner.plan(operations);
+            return batchService.applyAsync(plan.batch())
+                    .map(applied -> ResponseEntity.ok((Object) Map.of("results", plan.merge(applied))));
+        }).onErrorResume(this::error);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> delete(@PathVariable String id) {
+        return postService.deleteAsync(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().build()
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).build())
+                .onErrorResume(this::error);
+    }
+
+    // Arquivo enviado tem prioridade; sem arquivo, usa o campo imageUrl
+    private Mono<String> resolveImage(MultiValueMap<String, Part> parts) {
+        if (parts.getFirst("image") instanceof FilePart file && !file.filename().isEmpty()) {
+            return uploadService.saveImage(file);
+        }
+        String imageUrl = field(parts, "imageUrl");
+        return imageUrl != null && !imageUrl.isBlank() ? Mono.just(imageUrl) : Mono.empty();
+    }
+
+    private static String field(MultiValueMap<String, Part> parts, String name) {
+        return parts.getFirst(name) instanceof FormFieldPart f ? f.value() : null;
+    }
+
+    private Mono<ResponseEntity<Object>> error(Throwable e) {
+        HttpStatus status = e instanceof IllegalArgumentException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+        return Mono.just(ResponseEntity.status(status).body(Map.of("error", String.valueOf(e.getMessage()))));
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.controller;
+
+import com.blog.service.ImageVariantService;
+import com.blog.service.UploadService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/upload")
+public class ReactiveUploadController {
+
+    private final UploadService uploadService;
+    private final ImageVariantService imageVariantService;
+
+    public ReactiveUploadController(UploadService uploadService, ImageVariantService imageVariantService) {
+        this.uploadService = uploadService;
+        this.imageVariantService = imageVariantService;
+    }
+
+    /**
+     * Consome o multipart como PartEvents: os DataBuffers da parte "image" vão direto para o
+     * UploadService conforme chegam, sem o FilePart intermediário (que passa por arquivo temporário).
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<Object>> upload(@RequestBody Flux<PartEvent> parts) {
+        return parts
+                .windowUntil(PartEvent::isLast)
+                .concatMap(part -> part.switchOnFirst((first, events) -> {
+                    if (first.get() instanceof FilePartEvent file && "image".equals(file.name())
+                            && !file.filename().isEmpty()) {
+                        return uploadService.saveImage(events.map(PartEvent::content));
+                    }
+                    return events.doOnNext(event -> DataBufferUtils.release(event.content())).then(Mono.empty());
+                }))
+                .next()
+                .map(imageUrl -> {
+                    String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+                    return ResponseEntity.ok((Object) Map.of(
+                            "success", true,
+                            "imageUrl", imageUrl,
+                            "filename", filename,
+                            "variants", imageVariantService.planned(imageUrl)
+                    ));
+                })
+                .defaultIfEmpty(ResponseEntity.badRequest().body(Map.of("error", "No file uploaded")));
+    }
+}
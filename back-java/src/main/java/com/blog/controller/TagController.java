@@ -0,0 +1,76 @@
+package com.blog.controller;
+
+import com.blog.service.PostTagIndex;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas por tag respondidas pelo {@link PostTagIndex} em memória. Não bloqueia, então serve
+ * tanto no modo servlet quanto no reativo. Até o índice terminar de carregar, responde 503.
+ */
+@RestController
+@RequestMapping("/api")
+public class TagController {
+
+    private final PostTagIndex tagIndex;
+
+    public TagController(PostTagIndex tagIndex) {
+        this.tagIndex = tagIndex;
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<?> tags() {
+        if (!tagIndex.isReady()) return loading();
+        return ResponseEntity.ok(tagIndex.counts());
+    }
+
+    @GetMapping("/posts/tags/{tag}")
+    public ResponseEntity<?> byTag(@PathVariable String tag,
+                                   @RequestParam(required = false) Integer limit,
+                                   @RequestParam(required = false) String cursor) {
+        if (!tagIndex.isReady()) return loading();
+        try {
+            return ResponseEntity.ok(tagIndex.findPage(List.of(tag), true, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Várias tags: ?tags=java,spring (ou tags repetido); match=all (padrão, AND) ou match=any (OR).
+     */
+    @GetMapping("/posts/tags")
+    public ResponseEntity<?> byTags(@RequestParam(required = false) List<String> tags,
+                                    @RequestParam(required = false, defaultValue = "all") String match,
+                                    @RequestParam(required = false) Integer limit,
+                                    @RequestParam(required = false) String cursor) {
+        if (!"all".equals(match) && !"any".equals(match)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "match deve ser all ou any"));
+        }
+        if (!tagIndex.isReady()) return loading();
+        List<String> split = new ArrayList<>();
+        if (tags != null) {
+            for (String t : tags) split.addAll(List.of(t.split(",")));
+        }
+        try {
+            return ResponseEntity.ok(tagIndex.findPage(split, "all".equals(match), limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<?> loading() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Índice de tags ainda carregando, tente novamente em instantes"));
+    }
+}
@@ -1,39 +1,64 @@
 package com.blog.controller;
 
+import com.blog.service.ImageVariantService;
 import com.blog.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/upload")
 public class UploadController {
 
     private final UploadService uploadService;
+    private final ImageVariantService imageVariantService;
+    private final long maxRequestBytes;
 
-    public UploadController(UploadService uploadService) {
+    public UploadController(UploadService uploadService, ImageVariantService imageVariantService,
+                            @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize) {
         this.uploadService = uploadService;
+        this.imageVariantService = imageVariantService;
+        this.maxRequestBytes = maxRequestSize.toBytes();
     }
 
+    /**
+     * Lê o corpo multipart em streaming ({@link MultipartReader}) e grava a parte "image" direto na pasta
+     * de uploads: sem arquivo temporário do Tomcat e com o tipo conferido nos primeiros bytes. O corpo
+     * inteiro continua limitado a spring.servlet.multipart.max-request-size.
+     */
     @PostMapping
-    public ResponseEntity<?> upload(@RequestParam("image") MultipartFile image) {
-        if (image == null || image.isEmpty()) {
+    public ResponseEntity<?> upload(HttpServletRequest request) throws IOException {
+        MultipartReader reader;
+        try {
+            reader = MultipartReader.of(request.getContentType(), request.getInputStream(), maxRequestBytes);
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "No file uploaded"));
         }
-        String imageUrl = uploadService.saveImage(image).orElse(null);
-        if (imageUrl == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Falha ao salvar arquivo"));
+        MultipartReader.Part part;
+        while ((part = reader.next()) != null) {
+            if (!"image".equals(part.name()) || part.filename() == null || part.filename().isEmpty()) continue;
+
+            Optional<String> saved = uploadService.saveImage(part.content());
+            if (saved.isEmpty()) break;
+            String imageUrl = saved.get();
+            String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "imageUrl", imageUrl,
+                    "filename", filename,
+                    "variants", imageVariantService.planned(imageUrl)
+            ));
         }
-        String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "imageUrl", imageUrl,
-                "filename", filename
-        ));
+        return ResponseEntity.badRequest().body(Map.of("error", "No file uploaded"));
     }
 }
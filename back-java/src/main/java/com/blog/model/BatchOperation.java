@@ -0,0 +1,16 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Item de POST /api/posts/batch. op: "create" | "update" | "delete".
+ * data segue o mesmo formato do corpo JSON de criação/atualização (em create os campos obrigatórios valem).
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchOperation {
+    private String op;
+    private String id;
+    private UpdatePostRequest data;
+}
@@ -0,0 +1,16 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Resultado de um item do batch, na mesma posição (index) do pedido. status segue o endpoint individual.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(int index, String op, String id, int status, Post post, List<String> errors) {
+
+    public static BatchResult error(int index, String op, String id, int status, List<String> errors) {
+        return new BatchResult(index, op, id, status, null, errors);
+    }
+}
@@ -1,11 +1,15 @@
 package com.blog.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class CodeExample {
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CodeExample extends ExtraFields {
     private String language;
     private String color;
     private String code;
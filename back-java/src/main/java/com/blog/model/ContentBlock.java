@@ -1,19 +1,25 @@
 package com.blog.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
-
-import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
- * Bloco de conteúdo do post. O campo "content" pode ser String (paragrafo, intro, conclusao)
- * ou objeto (ImageContent, TitleContent, CodeContent) conforme "tipo".
+ * Bloco de conteúdo do post, discriminado por "tipo" e pelo formato de "content" (ver
+ * {@link ContentBlockDeserializer}): paragrafo/intro/conclusao (e tipos livres com texto) viram
+ * {@link TextBlock}; imagem, titulo e codigo com objeto têm "content" tipado ({@link ImageContent},
+ * {@link TitleContent}, {@link CodeContent}); o resto fica como veio em {@link GenericBlock}.
+ * Campos que o modelo não conhece vão para {@link ExtraFields} e são escritos de volta.
  */
 @Data
-@JsonIgnoreProperties(ignoreUnknown = true)
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ContentBlock {
+@JsonDeserialize(using = ContentBlockDeserializer.class)
+public abstract class ContentBlock extends ExtraFields {
     private String tipo;
-    private Object content; // String ou Map/objeto (imagem, titulo, codigo)
+
+    public abstract Object getContent();
 }
@@ -0,0 +1,89 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Escolhe a subclasse de {@link ContentBlock} pelo "tipo" e pelo formato de "content", numa passada
+ * que copia o bloco para um buffer de tokens (menos no texto corrido, que segue direto do parser):
+ * só vai para o modelo tipado o que tem o formato dele.
+ * O resto (tipos que só o front conhece, codigo como array) vira {@link GenericBlock}, em vez de
+ * derrubar a leitura do post inteiro.
+ */
+public class ContentBlockDeserializer extends StdDeserializer<ContentBlock> {
+
+    /** Tipos cujo "content" é um objeto tipado. */
+    public static final Map<String, Class<? extends ContentBlock>> OBJECT_TYPES = Map.of(
+            "imagem", ImageBlock.class,
+            "titulo", TitleBlock.class,
+            "codigo", CodeBlock.class
+    );
+
+    public ContentBlockDeserializer() {
+        super(ContentBlock.class);
+    }
+
+    @Override
+    public ContentBlock deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (ContentBlock) ctxt.handleUnexpectedToken(ContentBlock.class, p);
+        }
+        TokenBuffer buffer = ctxt.bufferForInputBuffering(p);
+        buffer.writeStartObject();
+        String tipo = null;
+        JsonToken content = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            buffer.writeFieldName(name);
+            if ("tipo".equals(name) && value == JsonToken.VALUE_STRING) {
+                tipo = p.getText();
+            } else if ("content".equals(name)) {
+                content = value;
+                if (tipo != null && value == JsonToken.VALUE_STRING && !OBJECT_TYPES.containsKey(tipo)) {
+                    // Caso comum, texto com "tipo" antes de "content": o resto do bloco não tem como
+                    // não caber em TextBlock, então segue direto do parser sem bufferizar
+                    buffer.copyCurrentEvent(p);
+                    JsonParser rest = JsonParserSequence.createFlattened(false, buffer.asParser(p), p);
+                    rest.nextToken();
+                    return ctxt.readValue(rest, TextBlock.class);
+                }
+            }
+            buffer.copyCurrentStructure(p);
+        }
+        buffer.writeEndObject();
+
+        Class<? extends ContentBlock> type = typeFor(tipo, content);
+        if (type != GenericBlock.class) {
+            try (JsonParser block = buffer.asParserOnFirstToken()) {
+                return ctxt.readValue(block, type);
+            } catch (MismatchedInputException e) {
+                // Algum campo com outro tipo (ex.: width "100%"): o bloco fica como veio
+            }
+        }
+        try (JsonParser block = buffer.asParserOnFirstToken()) {
+            return ctxt.readValue(block, GenericBlock.class);
+        }
+    }
+
+    /**
+     * @param content primeiro token de "content", ou null se o campo não veio
+     */
+    public static Class<? extends ContentBlock> typeFor(String tipo, JsonToken content) {
+        boolean missing = content == null || content == JsonToken.VALUE_NULL;
+        Class<? extends ContentBlock> typed = tipo != null ? OBJECT_TYPES.get(tipo) : null;
+        if (typed != null) {
+            return missing || content == JsonToken.START_OBJECT ? typed : GenericBlock.class;
+        }
+        // paragrafo/intro/conclusao e tipos livres do editor: texto corrido
+        return missing || content == JsonToken.VALUE_STRING ? TextBlock.class : GenericBlock.class;
+    }
+}
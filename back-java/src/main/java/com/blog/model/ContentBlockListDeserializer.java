@@ -0,0 +1,55 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Lê "conteudo" nos formatos aceitos pela API: array de blocos, objeto {"blocks": [...]}
+ * ou uma string com qualquer um dos dois (campo de formulário multipart).
+ */
+public class ContentBlockListDeserializer extends JsonDeserializer<List<ContentBlock>> {
+
+    private static final TypeReference<List<ContentBlock>> BLOCKS = new TypeReference<>() {};
+
+    @Override
+    public List<ContentBlock> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return read(p);
+    }
+
+    /**
+     * Lê a partir do token atual do parser (que precisa ter codec).
+     */
+    public static List<ContentBlock> read(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            return p.readValueAs(BLOCKS);
+        }
+        if (token == JsonToken.START_OBJECT) {
+            List<ContentBlock> blocks = List.of();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("blocks".equals(name) && value == JsonToken.START_ARRAY) {
+                    blocks = p.readValueAs(BLOCKS);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return blocks;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try (JsonParser nested = p.getCodec().getFactory().createParser(p.getText())) {
+                nested.setCodec(p.getCodec());
+                nested.nextToken();
+                return read(nested);
+            }
+        }
+        return List.of();
+    }
+}
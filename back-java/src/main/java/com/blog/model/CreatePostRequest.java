@@ -1,19 +1,21 @@
 package com.blog.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
 
 import java.util.List;
-import java.util.Map;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class CreatePostRequest {
     private String title;
     private String category;
+    @JsonDeserialize(using = TagListDeserializer.class)
     private List<String> tags;
     private String image;
     private String excerpt;
-    private List<Map<String, Object>> conteudo;
+    @JsonDeserialize(using = ContentBlockListDeserializer.class)
+    private List<ContentBlock> conteudo;
     private String readingTime;
 }
@@ -0,0 +1,31 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Campos do JSON que o modelo não mapeia (ex.: "caption" numa imagem): guardados na leitura e escritos
+ * de volta, para que regravar um post (batch, log local) não os perca.
+ */
+@EqualsAndHashCode
+@ToString
+public abstract class ExtraFields {
+
+    private Map<String, Object> extra;
+
+    @JsonAnyGetter
+    public Map<String, Object> getExtra() {
+        return extra;
+    }
+
+    @JsonAnySetter
+    public void setExtra(String name, Object value) {
+        if (extra == null) extra = new LinkedHashMap<>();
+        extra.put(name, value);
+    }
+}
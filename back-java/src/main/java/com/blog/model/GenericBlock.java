@@ -0,0 +1,20 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Bloco fora do modelo tipado, mantido como veio: tipos que só a página do post conhece (lista,
+ * comparacao, ecossistema) ou "content" em outro formato (codigo como array de {title, examples}).
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class GenericBlock extends ContentBlock {
+    private JsonNode content;
+}
@@ -0,0 +1,18 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Bloco "imagem".
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class ImageBlock extends ContentBlock {
+    private ImageContent content;
+}
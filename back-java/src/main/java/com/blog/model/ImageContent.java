@@ -1,14 +1,23 @@
 package com.blog.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class ImageContent {
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageContent extends ExtraFields {
     private String src;
     private String alt;
     private Integer width;
     private Integer height;
+    // O front grava "class"
+    @JsonProperty("class")
+    @JsonAlias("className")
     private String className;
 }
@@ -1,6 +1,7 @@
 package com.blog.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -20,9 +21,13 @@ public class Post {
     @JsonProperty("reading_time")
     private String readingTime;
     private String excerpt;
-    private List<Map<String, Object>> conteudo;
+    private List<ContentBlock> conteudo;
     @JsonProperty("created_at")
     private Instant createdAt;
     @JsonProperty("updated_at")
     private Instant updatedAt;
+    /** srcset da imagem (largura → URL), calculado na leitura; não é gravado. */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonProperty(value = "imageVariants", access = JsonProperty.Access.READ_ONLY)
+    private Map<String, String> imageVariants;
 }
@@ -0,0 +1,9 @@
+package com.blog.model;
+
+import java.util.List;
+
+/**
+ * Página de resultados com paginação por cursor (keyset em date, id).
+ * nextCursor é null quando não há mais itens.
+ */
+public record PostPage<T>(List<T> items, String nextCursor) {}
@@ -0,0 +1,49 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projeção leve de Post para listagens (sem conteudo). updated_at vem junto para o ETag.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PostSummary {
+    public static final String SELECT = "id,title,category,tags,image,excerpt,date,reading_time,updated_at";
+
+    private String id;
+    private String title;
+    private String category;
+    private List<String> tags;
+    private String image;
+    private String excerpt;
+    private Instant date;
+    @JsonProperty("reading_time")
+    private String readingTime;
+    @JsonProperty("updated_at")
+    private Instant updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonProperty(value = "imageVariants", access = JsonProperty.Access.READ_ONLY)
+    private Map<String, String> imageVariants;
+
+    public static PostSummary of(Post post) {
+        PostSummary s = new PostSummary();
+        s.setId(post.getId());
+        s.setTitle(post.getTitle());
+        s.setCategory(post.getCategory());
+        s.setTags(post.getTags());
+        s.setImage(post.getImage());
+        s.setExcerpt(post.getExcerpt());
+        s.setDate(post.getDate());
+        s.setReadingTime(post.getReadingTime());
+        s.setUpdatedAt(post.getUpdatedAt());
+        s.setImageVariants(post.getImageVariants());
+        return s;
+    }
+}
@@ -0,0 +1,49 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê "tags" como array ou como string (JSON de array ou lista separada por vírgulas).
+ */
+public class TagListDeserializer extends JsonDeserializer<List<String>> {
+
+    private static final TypeReference<List<String>> TAGS = new TypeReference<>() {};
+
+    @Override
+    public List<String> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            return p.readValueAs(TAGS);
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return parse(p.getText(), p.getCodec());
+        }
+        p.skipChildren();
+        return List.of();
+    }
+
+    public static List<String> parse(String s, ObjectCodec codec) {
+        if (s.startsWith("[")) {
+            try (JsonParser nested = codec.getFactory().createParser(s)) {
+                nested.setCodec(codec);
+                List<String> parsed = nested.readValueAs(TAGS);
+                if (parsed != null) return parsed;
+            } catch (IOException ignored) {}
+        }
+        List<String> tags = new ArrayList<>();
+        for (String t : s.split(",")) {
+            String trimmed = t.trim();
+            if (!trimmed.isEmpty()) tags.add(trimmed);
+        }
+        return tags;
+    }
+}
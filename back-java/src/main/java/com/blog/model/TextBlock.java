@@ -0,0 +1,18 @@
+package com.blog.model;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Bloco de texto corrido (paragrafo, intro, conclusao).
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonDeserialize(using = JsonDeserializer.None.class)
+public class TextBlock extends ContentBlock {
+    private String content;
+}
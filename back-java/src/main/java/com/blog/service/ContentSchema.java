@@ -0,0 +1,295 @@
+package com.blog.service;
+
+import com.blog.model.CodeBlock;
+import com.blog.model.CodeExample;
+import com.blog.model.ContentBlock;
+import com.blog.model.GenericBlock;
+import com.blog.model.ImageBlock;
+import com.blog.model.ImageContent;
+import com.blog.model.TextBlock;
+import com.blog.model.TitleBlock;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Esquema dos blocos de "conteudo", montado uma vez a partir de {@link ContentService#AVAILABLE_CONTENT_TYPES}:
+ * cada tipo aponta direto para a regra do formato que o front grava para ele (codigo aceita o objeto do
+ * editor e o array da página do post; lista, comparacao e ecossistema são arrays). Tipos fora da lista
+ * são os livres do editor, com texto. A validação é uma passada só sobre os blocos, sem cópias nem
+ * streams; só aloca para descrever erros, cada um com o caminho do campo
+ * (ex.: conteudo[3].content.examples[0].code).
+ */
+final class ContentSchema {
+
+    // Erros de conteudo por requisição; um post enorme todo errado não vira uma resposta enorme
+    static final int MAX_ERRORS = 20;
+
+    private static final Map<String, BlockRule> RULES = Map.of(
+            "intro", BlockRule.TEXT,
+            "paragrafo", BlockRule.TEXT,
+            "conclusao", BlockRule.TEXT,
+            "imagem", BlockRule.IMAGE,
+            "titulo", BlockRule.TITLE,
+            "codigo", BlockRule.CODE,
+            "lista", BlockRule.LIST,
+            "comparacao", BlockRule.COMPARISON,
+            "ecossistema", BlockRule.ECOSYSTEM
+    );
+
+    private final Map<String, BlockRule> rules;
+
+    private ContentSchema(Map<String, BlockRule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Falha na subida se algum tipo disponível não tiver regra aqui.
+     */
+    static ContentSchema compile(List<String> contentTypes) {
+        Map<String, BlockRule> rules = new HashMap<>();
+        for (String tipo : contentTypes) {
+            BlockRule rule = RULES.get(tipo);
+            if (rule == null) {
+                throw new IllegalStateException("Tipo de conteúdo sem regra no esquema: " + tipo);
+            }
+            rules.put(tipo, rule);
+        }
+        return new ContentSchema(Map.copyOf(rules));
+    }
+
+    /**
+     * Valida os blocos acrescentando os erros em {@code errors} (até {@link #MAX_ERRORS});
+     * com {@code errors} nulo para no primeiro.
+     *
+     * @return true se todos os blocos forem válidos
+     */
+    boolean validate(List<?> blocks, String path, List<String> errors) {
+        Errors sink = new Errors(errors, path);
+        boolean valid = true;
+        int index = 0;
+        for (Object block : blocks) {
+            if (!check(block, index++, sink)) {
+                valid = false;
+                if (sink.done()) break;
+            }
+        }
+        sink.finish();
+        return valid;
+    }
+
+    /**
+     * Valida um bloco na posição {@code index}; dá para chamar bloco a bloco enquanto a lista é lida
+     * (o limite de erros aí vale por bloco).
+     */
+    boolean validateBlock(Object block, String path, int index, List<String> errors) {
+        Errors sink = new Errors(errors, path);
+        boolean valid = check(block, index, sink);
+        sink.finish();
+        return valid;
+    }
+
+    private boolean check(Object block, int index, Errors errors) {
+        if (!(block instanceof ContentBlock b)) {
+            return errors.add(index, "", "deve ser um objeto");
+        }
+        String tipo = b.getTipo();
+        if (tipo == null) {
+            return errors.add(index, ".tipo", "é obrigatório");
+        }
+        if (b.getContent() == null) {
+            return errors.add(index, ".content", "é obrigatório");
+        }
+        return rules.getOrDefault(tipo, BlockRule.FREE_TEXT).check(b, index, errors);
+    }
+
+    /**
+     * Formato do "content" de cada tipo (já sabidamente não nulo).
+     */
+    private enum BlockRule {
+        TEXT {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                return block instanceof TextBlock || errors.add(index, ".content", "deve ser texto");
+            }
+        },
+        // Tipos livres do editor ({tipo: string; content: string})
+        FREE_TEXT {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                return block instanceof TextBlock
+                        || errors.add(index, ".content", "deve ser texto para o tipo \"" + block.getTipo() + "\"");
+            }
+        },
+        IMAGE {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                if (!(block instanceof ImageBlock b)) {
+                    return errors.add(index, ".content", "deve ser um objeto {src, alt, width, height}");
+                }
+                ImageContent content = b.getContent();
+                boolean valid = content.getSrc() != null || errors.add(index, ".content.src", "é obrigatório");
+                if (!valid && errors.done()) return false;
+                return content.getAlt() != null ? valid : errors.add(index, ".content.alt", "é obrigatório");
+            }
+        },
+        TITLE {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                if (!(block instanceof TitleBlock b)) {
+                    return errors.add(index, ".content", "deve ser um objeto {text}");
+                }
+                return b.getContent().getText() != null || errors.add(index, ".content.text", "é obrigatório");
+            }
+        },
+        // Objeto {title, examples} do editor ou array de {title, examples} da página do post
+        CODE {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                if (block instanceof CodeBlock b) {
+                    List<CodeExample> examples = b.getContent().getExamples();
+                    if (examples == null) {
+                        return errors.add(index, ".content.examples", "é obrigatório");
+                    }
+                    boolean valid = true;
+                    int i = 0;
+                    for (CodeExample example : examples) {
+                        if (example == null) {
+                            valid = errors.add(index, ".content.examples[" + i + "]", "deve ser um objeto");
+                        } else {
+                            if (example.getLanguage() == null) {
+                                valid = errors.add(index, ".content.examples[" + i + "].language", "é obrigatório");
+                            }
+                            if (example.getCode() == null) {
+                                valid = errors.add(index, ".content.examples[" + i + "].code", "é obrigatório");
+                            }
+                        }
+                        if (!valid && errors.done()) return false;
+                        i++;
+                    }
+                    return valid;
+                }
+                JsonNode items = items(block, index, errors, "{title, examples}");
+                if (items == null) return false;
+                boolean valid = true;
+                for (int i = 0, n = items.size(); i < n; i++) {
+                    JsonNode examples = items.get(i).path("examples");
+                    if (!items.get(i).isObject()) {
+                        valid = errors.add(index, ".content[" + i + "]", "deve ser um objeto");
+                    } else if (!examples.isArray()) {
+                        valid = errors.add(index, ".content[" + i + "].examples", "deve ser um array");
+                    } else {
+                        for (int j = 0, m = examples.size(); j < m; j++) {
+                            JsonNode example = examples.get(j);
+                            if (!example.path("language").isTextual()) {
+                                valid = errors.add(index, ".content[" + i + "].examples[" + j + "].language", "é obrigatório");
+                            }
+                            if (!example.path("code").isTextual()) {
+                                valid = errors.add(index, ".content[" + i + "].examples[" + j + "].code", "é obrigatório");
+                            }
+                            if (!valid && errors.done()) return false;
+                        }
+                    }
+                    if (!valid && errors.done()) return false;
+                }
+                return valid;
+            }
+        },
+        LIST {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                return checkItems(block, index, errors, "{title, description, example}", NO_ARRAYS);
+            }
+        },
+        COMPARISON {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                return checkItems(block, index, errors, "{title, items}", new String[]{"items"});
+            }
+        },
+        ECOSYSTEM {
+            @Override
+            boolean check(ContentBlock block, int index, Errors errors) {
+                return checkItems(block, index, errors, "{title, description, libraries}", new String[]{"libraries"});
+            }
+        };
+
+        private static final String[] NO_ARRAYS = {};
+
+        abstract boolean check(ContentBlock block, int index, Errors errors);
+
+        // Array de objetos, cada um com "title" em texto e os campos de array indicados
+        static boolean checkItems(ContentBlock block, int index, Errors errors, String shape, String[] arrayFields) {
+            JsonNode items = items(block, index, errors, shape);
+            if (items == null) return false;
+            boolean valid = true;
+            for (int i = 0, n = items.size(); i < n; i++) {
+                JsonNode item = items.get(i);
+                if (!item.isObject()) {
+                    valid = errors.add(index, ".content[" + i + "]", "deve ser um objeto");
+                } else {
+                    if (!item.path("title").isTextual()) {
+                        valid = errors.add(index, ".content[" + i + "].title", "é obrigatório");
+                    }
+                    for (String field : arrayFields) {
+                        if (!item.path(field).isArray()) {
+                            valid = errors.add(index, ".content[" + i + "]." + field, "deve ser um array");
+                        }
+                    }
+                }
+                if (!valid && errors.done()) return false;
+            }
+            return valid;
+        }
+
+        // "content" como array (lido em GenericBlock), ou null depois de registrar o erro
+        static JsonNode items(ContentBlock block, int index, Errors errors, String shape) {
+            if (block instanceof GenericBlock b && b.getContent().isArray()) {
+                return b.getContent();
+            }
+            errors.add(index, ".content", "deve ser um array de " + shape);
+            return null;
+        }
+    }
+
+    /**
+     * Destino dos erros de uma validação: sem lista só interessa saber se é válido; com lista, para
+     * de acrescentar em {@link #MAX_ERRORS}, inclusive no meio de um bloco, e avisa no fim.
+     */
+    private static final class Errors {
+        private final List<String> out;
+        private final String path;
+        private final int limit;
+
+        Errors(List<String> out, String path) {
+            this.out = out;
+            this.path = path;
+            this.limit = out != null ? out.size() + MAX_ERRORS : 0;
+        }
+
+        /**
+         * @return sempre false, para encadear em {@code return valid || errors.add(...)}
+         */
+        boolean add(int index, String field, String message) {
+            if (out != null && out.size() < limit) {
+                out.add(path + "[" + index + "]" + field + " " + message);
+            }
+            return false;
+        }
+
+        /**
+         * Não adianta continuar: só se queria saber se é válido, ou o limite de erros foi atingido.
+         */
+        boolean done() {
+            return out == null || out.size() >= limit;
+        }
+
+        void finish() {
+            if (out != null && out.size() >= limit) {
+                out.add(path + ": limite de " + MAX_ERRORS + " erros atingido, os demais não foram listados");
+            }
+        }
+    }
+}
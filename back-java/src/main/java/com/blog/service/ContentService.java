@@ -1,9 +1,14 @@
 package com.blog.service;
 
+import com.blog.model.CodeBlock;
+import com.blog.model.CodeExample;
+import com.blog.model.ContentBlock;
+import com.blog.model.ImageBlock;
+import com.blog.model.TextBlock;
+import com.blog.model.TitleBlock;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Serviço para validar e manipular blocos de conteúdo (equivalente ao contentService.ts).
@@ -15,10 +20,14 @@ public class ContentService {
             "Programação", "Tecnologia", "Design", "Negócios"
     );
 
+    // lista, comparacao e ecossistema só a página do post renderiza, mas já estão gravados
     public static final List<String> AVAILABLE_CONTENT_TYPES = List.of(
-            "intro", "imagem", "titulo", "codigo", "conclusao", "paragrafo"
+            "intro", "imagem", "titulo", "codigo", "conclusao", "paragrafo", "lista", "comparacao", "ecossistema"
     );
 
+    // Montado uma vez: tipo → regra do formato gravado
+    private final ContentSchema contentSchema = ContentSchema.compile(AVAILABLE_CONTENT_TYPES);
+
     public boolean isValidCategory(String category) {
         return category != null && AVAILABLE_CATEGORIES.contains(category);
     }
@@ -27,81 +36,96 @@ public class ContentService {
         return type != null && AVAILABLE_CONTENT_TYPES.contains(type);
     }
 
-    @SuppressWarnings("unchecked")
-    public boolean validateContentBlock(Map<String, Object> block) {
-        if (block == null || block.get("tipo") == null || block.get("content") == null) {
-            return false;
-        }
-        String tipo = block.get("tipo").toString();
-        Object content = block.get("content");
-
-        return switch (tipo) {
-            case "imagem" -> validateImageBlock(content);
-            case "titulo" -> validateTitleContent(content);
-            case "codigo" -> validateCodeBlock(content);
-            case "intro", "conclusao", "paragrafo" -> content instanceof String;
-            default -> content instanceof String;
-        };
+    public boolean validateContentBlock(ContentBlock block) {
+        return contentSchema.validateBlock(block, "conteudo", 0, null);
+    }
+
+    public boolean validateContentBlocks(List<ContentBlock> blocks) {
+        return blocks != null && contentSchema.validate(blocks, "conteudo", null);
     }
 
-    private boolean validateImageBlock(Object content) {
-        if (!(content instanceof Map<?, ?> m)) return false;
-        return m.get("src") instanceof String && m.get("alt") instanceof String;
+    /**
+     * Valida os blocos numa passada, acrescentando em {@code errors} um erro por campo inválido
+     * com o caminho dele a partir de {@code path} (ex.: conteudo[3].content.examples[0].code).
+     */
+    public boolean validateContentBlocks(List<?> blocks, String path, List<String> errors) {
+        return contentSchema.validate(blocks, path, errors);
     }
 
-    private boolean validateTitleContent(Object content) {
-        if (!(content instanceof Map<?, ?> m)) return false;
-        return m.get("text") instanceof String;
+    /**
+     * Calcula tempo de leitura (≈200 palavras/min; código conta meia palavra).
+     */
+    public String calculateReadingTime(List<ContentBlock> blocks) {
+        if (blocks == null) return "5 min de leitura";
+        return contentStats(blocks).readingMinutes() + " min de leitura";
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean validateCodeBlock(Object content) {
-        if (!(content instanceof Map<?, ?> m)) return false;
-        Object ex = m.get("examples");
-        if (!(ex instanceof List<?> list)) return false;
-        for (Object item : list) {
-            if (!(item instanceof Map<?, ?> e)) return false;
-            if (!(e.get("language") instanceof String) || !(e.get("code") instanceof String)) {
-                return false;
+    /**
+     * Estatísticas dos blocos em uma única passada, sem split/regex: palavras de texto corrido
+     * (parágrafos e títulos), palavras e linhas de código e número de imagens.
+     */
+    public ContentStats contentStats(List<ContentBlock> blocks) {
+        int proseWords = 0, codeWords = 0, codeLines = 0, images = 0;
+        if (blocks == null) return new ContentStats(0, 0, 0, 0);
+
+        for (ContentBlock block : blocks) {
+            if (block instanceof TextBlock b) {
+                proseWords += countWords(b.getContent());
+            } else if (block instanceof TitleBlock b && b.getContent() != null) {
+                proseWords += countWords(b.getContent().getText());
+            } else if (block instanceof CodeBlock b && b.getContent() != null && b.getContent().getExamples() != null) {
+                for (CodeExample ex : b.getContent().getExamples()) {
+                    if (ex == null || ex.getCode() == null) continue;
+                    codeWords += countWords(ex.getCode());
+                    codeLines += countLines(ex.getCode());
+                }
+            } else if (block instanceof ImageBlock) {
+                images++;
             }
         }
-        return true;
+        return new ContentStats(proseWords, codeWords, codeLines, images);
     }
 
-    public boolean validateContentBlocks(List<Map<String, Object>> blocks) {
-        if (blocks == null) return false;
-        return blocks.stream().allMatch(this::validateContentBlock);
+    /**
+     * Conta sequências de caracteres não brancos (mesmo conjunto de \s do regex).
+     */
+    public static int countWords(CharSequence text) {
+        if (text == null) return 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (isWhitespace(text.charAt(i))) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+        }
+        return words;
     }
 
     /**
-     * Calcula tempo de leitura (≈200 palavras/min).
+     * Linhas de um trecho de código; um "\n" final não abre linha nova.
      */
-    public String calculateReadingTime(List<Map<String, Object>> blocks) {
-        if (blocks == null) return "5 min de leitura";
-        double totalWords = 0;
-
-        for (Map<String, Object> block : blocks) {
-            String tipo = block.get("tipo") != null ? block.get("tipo").toString() : "";
-            Object content = block.get("content");
-
-            if ("titulo".equals(tipo) && content instanceof Map<?, ?> m) {
-                Object text = m.get("text");
-                if (text != null) totalWords += text.toString().split("\\s+").length;
-            } else if ("codigo".equals(tipo) && content instanceof Map<?, ?> m) {
-                Object examples = m.get("examples");
-                if (examples instanceof List<?> list) {
-                    for (Object ex : list) {
-                        if (ex instanceof Map<?, ?> e && e.get("code") != null) {
-                            totalWords += e.get("code").toString().split("\\s+").length * 0.5;
-                        }
-                    }
-                }
-            } else if (content instanceof String s) {
-                totalWords += s.split("\\s+").length;
-            }
+    public static int countLines(CharSequence text) {
+        if (text == null || text.isEmpty()) return 0;
+        int lines = 1;
+        int last = text.length() - 1;
+        for (int i = 0; i < last; i++) {
+            if (text.charAt(i) == '\n') lines++;
         }
+        return lines;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    public record ContentStats(int proseWords, int codeWords, int codeLines, int images) {
 
-        int minutes = Math.max(1, (int) Math.ceil(totalWords / 200));
-        return minutes + " min de leitura";
+        public int readingMinutes() {
+            double words = proseWords + codeWords * 0.5;
+            return Math.max(1, (int) Math.ceil(words / 200));
+        }
     }
 }
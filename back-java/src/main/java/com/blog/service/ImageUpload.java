@@ -0,0 +1,143 @@
+package com.blog.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Um upload em andamento. Os bytes passam por um único ByteBuffer direto de tamanho fixo e vão para o
+ * arquivo por FileChannel, com SHA-256 e limite de tamanho calculados no caminho. O tipo real vem da
+ * assinatura nos primeiros bytes (não do Content-Type do cliente): o que não é imagem é recusado assim
+ * que chegam os 12 primeiros bytes, sem esperar o resto do stream.
+ */
+final class ImageUpload implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SIGNATURE_LENGTH = 12;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final MessageDigest sha256;
+    private final long maxSize;
+    private long size;
+    private String contentType;
+
+    ImageUpload(Path file, long maxSize) throws IOException {
+        this.file = file;
+        this.maxSize = maxSize;
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Lê o canal até o fim direto para o buffer.
+     */
+    void readFrom(ReadableByteChannel in) throws IOException {
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            accepted(n);
+            if (!buffer.hasRemaining()) flush();
+        }
+    }
+
+    void write(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            int n = Math.min(src.remaining(), buffer.remaining());
+            buffer.put(src.slice(src.position(), n));
+            src.position(src.position() + n);
+            accepted(n);
+            if (!buffer.hasRemaining()) flush();
+        }
+    }
+
+    private void accepted(int n) {
+        size += n;
+        if (size > maxSize) {
+            throw new IllegalArgumentException("Arquivo muito grande. Máximo 5MB.");
+        }
+        // O buffer só é esvaziado quando enche, então os primeiros bytes do arquivo ainda estão no início dele
+        if (contentType == null && size >= SIGNATURE_LENGTH) detect();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        sha256.update(buffer.duplicate());
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Grava o que falta no buffer e fecha o arquivo. Depois disso ele pode ser renomeado.
+     */
+    void finish() throws IOException {
+        if (contentType == null) detect();
+        flush();
+        channel.close();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    String sha256Hex() {
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    private void detect() {
+        contentType = signature(buffer, (int) Math.min(size, SIGNATURE_LENGTH));
+        if (contentType == null) {
+            throw new IllegalArgumentException("Tipo de arquivo inválido. Apenas JPEG, PNG, WEBP e GIF são permitidos.");
+        }
+    }
+
+    // Assinaturas: JPEG FF D8 FF, PNG 89 'PNG' 0D 0A 1A 0A, GIF 'GIF87a'/'GIF89a', WEBP 'RIFF' ???? 'WEBP'
+    static String signature(ByteBuffer head, int length) {
+        if (length >= 3 && u(head, 0) == 0xFF && u(head, 1) == 0xD8 && u(head, 2) == 0xFF) return "image/jpeg";
+        if (length >= 8 && u(head, 0) == 0x89 && ascii(head, 1, "PNG")
+                && u(head, 4) == 0x0D && u(head, 5) == 0x0A && u(head, 6) == 0x1A && u(head, 7) == 0x0A) return "image/png";
+        if (length >= 6 && (ascii(head, 0, "GIF87a") || ascii(head, 0, "GIF89a"))) return "image/gif";
+        if (length >= 12 && ascii(head, 0, "RIFF") && ascii(head, 8, "WEBP")) return "image/webp";
+        return null;
+    }
+
+    private static int u(ByteBuffer b, int i) {
+        return b.get(i) & 0xFF;
+    }
+
+    private static boolean ascii(ByteBuffer b, int at, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (b.get(at + i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fecha o canal e apaga o arquivo se ele não foi renomeado (upload recusado ou duplicado).
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,272 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+import com.blog.model.PostPage;
+import com.blog.model.PostSummary;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera versões reduzidas (larguras de app.images.variant-widths) de cada imagem enviada, em segundo plano
+ * e em um executor limitado: o upload não espera o redimensionamento. Os arquivos ficam ao lado do
+ * original como nome-640w.jpg. JPEG sai em JPEG e PNG em PNG; GIF (animação) e WEBP (sem leitor no
+ * ImageIO) ficam só com o original, assim como imagens acima de app.images.max-pixels (largura × altura).
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    // ~64 MB em ARGB: teto de pixels da imagem decodificada antes do redimensionamento
+    private static final long DECODE_PIXELS = 16_000_000L;
+
+    private final Path uploadDir;
+    private final int[] widths;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final PostCache postCache;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Map<String, String>> known = new ConcurrentHashMap<>();
+
+    public ImageVariantService(@Value("${app.upload-dir:uploads}") String uploadDirName,
+                               @Value("${app.images.variant-widths:320,640,1024}") int[] widths,
+                               @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                               @Value("${app.images.variant-threads:2}") int threads,
+                               @Value("${app.images.variant-queue:64}") int queueSize,
+                               @Value("${app.images.max-pixels:50000000}") long maxPixels,
+                               PostCache postCache) {
+        this.uploadDir = Paths.get(uploadDirName).toAbsolutePath().normalize();
+        this.widths = Arrays.stream(widths).filter(w -> w > 0).sorted().distinct().toArray();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.postCache = postCache;
+        AtomicInteger n = new AtomicInteger();
+        // Fila cheia: a imagem fica só com o original (AbortPolicy, tratado em schedule)
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "image-variants-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Agenda a geração das variantes de uma imagem recém-salva em /uploads e retorna na hora.
+     */
+    public void schedule(String imageUrl) {
+        Path original = localPath(imageUrl);
+        if (original == null || widths.length == 0) return;
+        Source source = probe(original);
+        if (source == null || source.width <= widths[0]) return;
+        try {
+            executor.execute(() -> generate(imageUrl, original, source));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de variantes cheia; {} fica só com o original", imageUrl);
+        }
+    }
+
+    /**
+     * srcset previsto para a imagem (largura → URL), calculado só pelo cabeçalho: é o que a resposta do
+     * upload devolve, antes de o job terminar. Larguras iguais ou maiores que a do original ficam de fora.
+     */
+    public Map<String, String> planned(String imageUrl) {
+        Path original = localPath(imageUrl);
+        Source source = original != null ? probe(original) : null;
+        if (source == null) return Map.of();
+        Map<String, String> srcset = new LinkedHashMap<>();
+        for (int w : widths) {
+            if (w < source.width) srcset.put(w + "w", variantUrl(imageUrl, w));
+        }
+        return srcset;
+    }
+
+    /**
+     * Variantes já gravadas em disco para a imagem (vazio para URLs externas ou enquanto o job roda).
+     */
+    public Map<String, String> variantsFor(String imageUrl) {
+        if (imageUrl == null || widths.length == 0) return Map.of();
+        return known.computeIfAbsent(imageUrl, url -> {
+            if (localPath(url) == null) return Map.of();
+            Map<String, String> found = new LinkedHashMap<>();
+            for (int w : widths) {
+                String variant = variantUrl(url, w);
+                if (Files.exists(localPath(variant))) found.put(w + "w", variant);
+            }
+            return Collections.unmodifiableMap(found);
+        });
+    }
+
+    private void generate(String imageUrl, Path original, Source source) {
+        long start = System.nanoTime();
+        try {
+            int largest = 0;
+            for (int w : widths) if (w < source.width) largest = w;
+            BufferedImage image = decode(original, source, largest);
+            if (image == null) return;
+
+            for (int w : widths) {
+                if (w >= source.width) break;
+                BufferedImage resized = resize(image, w, source.jpeg);
+                write(resized, localPath(variantUrl(imageUrl, w)), source.jpeg);
+            }
+            known.remove(imageUrl);
+            // Só as respostas em cache que usam esta imagem ficaram sem o srcset
+            postCache.evictIf((key, value) -> usesImage(value, imageUrl));
+            log.debug("Variantes de {} geradas em {} ms", imageUrl, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gerar variantes de {}: {}", imageUrl, e.getMessage());
+        }
+    }
+
+    private static boolean usesImage(Object value, String imageUrl) {
+        if (value instanceof Post p) return imageUrl.equals(p.getImage());
+        if (value instanceof PostSummary s) return imageUrl.equals(s.getImage());
+        if (value instanceof PostPage<?> page) return usesImage(page.items(), imageUrl);
+        if (value instanceof Collection<?> values) {
+            for (Object v : values) if (usesImage(v, imageUrl)) return true;
+        }
+        return false;
+    }
+
+    // Lê só o cabeçalho: largura, altura e formato, sem decodificar os pixels. Acima de maxPixels, null
+    private Source probe(Path file) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                String format = reader.getFormatName().toLowerCase();
+                boolean jpeg = format.equals("jpeg") || format.equals("jpg");
+                if (!jpeg && !format.equals("png")) return null;
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.info("{} tem {}x{} pixels, acima de app.images.max-pixels; fica só com o original", file.getFileName(), width, height);
+                    return null;
+                }
+                return new Source(width, height, jpeg);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Decodifica já subamostrado quando o original é muito maior que a maior variante (bem menos memória).
+    // O passo é o mesmo nos dois eixos (mantém a proporção) e cresce também pela altura: uma imagem estreita
+    // e muito alta não decodifica mais que DECODE_PIXELS
+    private static BufferedImage decode(Path file, Source source, int largestVariant) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, largestVariant > 0 ? source.width / (2 * largestVariant) : 1);
+                long pixels = (long) source.width * source.height;
+                while (pixels / ((long) step * step) > DECODE_PIXELS) step++;
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Reduz pela metade enquanto possível e faz o último passo bilinear: qualidade próxima do bicúbico, bem mais rápido
+    private static BufferedImage resize(BufferedImage source, int targetWidth, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = w == targetWidth ? targetHeight : Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth);
+        return current;
+    }
+
+    private void write(BufferedImage image, Path target, boolean jpeg) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(jpeg ? "jpeg" : "png").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (jpeg) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        // Renomeia só no fim: quem lista o diretório nunca vê uma variante pela metade
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path localPath(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("/uploads/")) return null;
+        Path path = uploadDir.resolve(imageUrl.substring("/uploads/".length())).normalize();
+        return path.startsWith(uploadDir) ? path : null;
+    }
+
+    static String variantUrl(String imageUrl, int width) {
+        int dot = imageUrl.lastIndexOf('.');
+        int slash = imageUrl.lastIndexOf('/');
+        if (dot <= slash) return imageUrl + "-" + width + "w";
+        return imageUrl.substring(0, dot) + "-" + width + "w" + imageUrl.substring(dot);
+    }
+
+    private record Source(int width, int height, boolean jpeg) {}
+}
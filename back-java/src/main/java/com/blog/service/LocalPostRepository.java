@@ -0,0 +1,304 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+import com.blog.model.PostSummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Posts guardados em um arquivo local ({@link PostLog}), sem Supabase: app.storage=local.
+ * Cada escrita acrescenta a versão nova do post (ou um registro de remoção) ao fim do log; o índice
+ * id → posição e a ordem (date desc, id desc) ficam em memória e são refeitos ao abrir o arquivo.
+ * Na subida, se a maior parte do arquivo for de versões antigas, o log é compactado.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage", havingValue = "local")
+public class LocalPostRepository implements PostRepository {
+
+    private static final TypeReference<Map<String, Object>> ROW = new TypeReference<>() {};
+
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::date)
+            .thenComparing(Entry::id)
+            .reversed();
+
+    private final ObjectMapper objectMapper;
+    private final PostLog log;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final NavigableSet<Entry> ordered = new TreeSet<>(NEWEST_FIRST);
+
+    public LocalPostRepository(ObjectMapper objectMapper,
+                               @Value("${app.storage.local.path:data/posts.log}") String path,
+                               @Value("${app.storage.local.fsync:true}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.log = new PostLog(Path.of(path), fsync);
+        load();
+    }
+
+    private void load() {
+        long[] liveBytes = {0};
+        log.replay((type, offset, length, payload) -> {
+            if (type == PostLog.PUT) {
+                Post post = decode(payload);
+                Entry previous = byId.get(post.getId());
+                if (previous != null) liveBytes[0] -= previous.length;
+                put(new Entry(post.getId(), dateOf(post), post.getCategory(), offset, length));
+                liveBytes[0] += length;
+            } else {
+                Entry previous = remove(StandardCharsets.UTF_8.decode(payload).toString());
+                if (previous != null) liveBytes[0] -= previous.length;
+            }
+        });
+        // Mais da metade do arquivo é lixo (versões antigas e remoções): reescreve só o que vale
+        if (log.size() > 1 << 20 && liveBytes[0] < log.size() / 2) compact();
+    }
+
+    private void compact() {
+        List<Entry> entries = new ArrayList<>(ordered);
+        byte[][] payloads = new byte[entries.size()][];
+        for (int i = 0; i < entries.size(); i++) {
+            payloads[i] = log.read(entries.get(i).offset, entries.get(i).length);
+        }
+        long[] offsets = log.rewrite(payloads);
+        byId.clear();
+        ordered.clear();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            put(new Entry(e.id, e.date, e.category, offsets[i], e.length));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        log.close();
+    }
+
+    @Override
+    public Mono<List<Post>> findAll() {
+        return query(() -> select(null, Integer.MAX_VALUE, e -> true, this::read));
+    }
+
+    @Override
+    public Mono<Post> findById(String id) {
+        return query(() -> {
+            lock.readLock().lock();
+            try {
+                Entry e = byId.get(id);
+                return e != null ? read(e) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public Mono<List<Post>> findByIds(Collection<String> ids) {
+        return query(() -> {
+            lock.readLock().lock();
+            try {
+                List<Post> found = new ArrayList<>(ids.size());
+                for (String id : ids) {
+                    Entry e = byId.get(id);
+                    if (e != null) found.add(read(e));
+                }
+                return found;
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public Mono<List<Post>> findByCategory(String category) {
+        return query(() -> select(null, Integer.MAX_VALUE, inCategory(category), this::read));
+    }
+
+    @Override
+    public Mono<List<PostSummary>> findSummaries(String category) {
+        return query(() -> select(null, Integer.MAX_VALUE, inCategory(category), e -> PostSummary.of(read(e))));
+    }
+
+    @Override
+    public Mono<List<Post>> findPage(String category, PostCursor after, int limit) {
+        return query(() -> select(after, limit, inCategory(category), this::read));
+    }
+
+    @Override
+    public Mono<List<PostSummary>> findSummaryPage(String category, PostCursor after, int limit) {
+        return query(() -> select(after, limit, inCategory(category), e -> PostSummary.of(read(e))));
+    }
+
+    @Override
+    public Flux<Post> streamAll() {
+        return Flux.defer(() -> {
+            List<Entry> snapshot;
+            lock.readLock().lock();
+            try {
+                snapshot = new ArrayList<>(ordered);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return Flux.fromIterable(snapshot).map(this::read);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<Post>> insert(List<Map<String, Object>> rows) {
+        return write(() -> {
+            Instant now = Instant.now();
+            List<Post> inserted = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                Map<String, Object> values = new LinkedHashMap<>(row);
+                values.put("id", UUID.randomUUID().toString());
+                values.putIfAbsent("date", now.toString());
+                values.put("created_at", now.toString());
+                values.put("updated_at", now.toString());
+                inserted.add(append(objectMapper.convertValue(values, Post.class)));
+            }
+            return inserted;
+        });
+    }
+
+    @Override
+    public Mono<List<Post>> update(Collection<String> ids, Map<String, Object> fields) {
+        return write(() -> {
+            Instant now = Instant.now();
+            List<Post> updated = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Entry e = byId.get(id);
+                if (e == null) continue;
+                Map<String, Object> values = objectMapper.convertValue(read(e), ROW);
+                values.putAll(fields);
+                values.put("id", id);
+                values.put("updated_at", now.toString());
+                updated.add(append(objectMapper.convertValue(values, Post.class)));
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public Mono<List<String>> delete(Collection<String> ids) {
+        return write(() -> {
+            List<String> deleted = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                if (!byId.containsKey(id)) continue;
+                log.append(PostLog.DELETE, id.getBytes(StandardCharsets.UTF_8));
+                remove(id);
+                deleted.add(id);
+            }
+            return deleted;
+        });
+    }
+
+    // Leituras decodificam JSON e podem esperar page fault do mmap: também fora do event loop
+    private <T> Mono<T> query(Callable<T> action) {
+        return Mono.fromCallable(action).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Escritas fazem I/O (e fsync): saem do event loop e rodam uma de cada vez
+    private <T> Mono<T> write(Callable<T> action) {
+        return Mono.fromCallable(() -> {
+            lock.writeLock().lock();
+            try {
+                return action.call();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Post append(Post post) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(post);
+        long offset = log.append(PostLog.PUT, json);
+        put(new Entry(post.getId(), dateOf(post), post.getCategory(), offset, json.length));
+        return post;
+    }
+
+    private <T> List<T> select(PostCursor after, int limit, Predicate<Entry> filter, Function<Entry, T> mapper) {
+        lock.readLock().lock();
+        try {
+            // O cursor vira uma entrada-sonda: tailSet começa logo depois dela na ordem date desc, id desc
+            NavigableSet<Entry> from = after != null
+                    ? ordered.tailSet(new Entry(after.id(), after.date(), null, 0, 0), false)
+                    : ordered;
+            List<T> result = new ArrayList<>(Math.min(limit, 64));
+            for (Entry e : from) {
+                if (result.size() >= limit) break;
+                if (filter.test(e)) result.add(mapper.apply(e));
+            }
+            return List.copyOf(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Predicate<Entry> inCategory(String category) {
+        return category == null ? e -> true : e -> category.equals(e.category);
+    }
+
+    private Post read(Entry e) {
+        try {
+            return objectMapper.readValue(log.read(e.offset, e.length), Post.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Registro inválido no log local (post " + e.id + ")", ex);
+        }
+    }
+
+    private Post decode(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        try {
+            return objectMapper.readValue(bytes, Post.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Registro inválido no log local", ex);
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry previous = byId.put(entry.id, entry);
+        if (previous != null) ordered.remove(previous);
+        ordered.add(entry);
+    }
+
+    private Entry remove(String id) {
+        Entry previous = byId.remove(id);
+        if (previous != null) ordered.remove(previous);
+        return previous;
+    }
+
+    private static Instant dateOf(Post post) {
+        return post.getDate() != null ? post.getDate() : Instant.EPOCH;
+    }
+
+    private record Entry(String id, Instant date, String category, long offset, int length) {}
+}
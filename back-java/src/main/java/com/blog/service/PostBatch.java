@@ -0,0 +1,18 @@
+package com.blog.service;
+
+import com.blog.model.CreatePostRequest;
+import com.blog.model.UpdatePostRequest;
+
+import java.util.List;
+
+/**
+ * Operações já validadas e sanitizadas de um batch, separadas por tipo. index é a posição no pedido.
+ */
+public record PostBatch(List<Create> creates, List<Update> updates, List<Delete> deletes) {
+
+    public record Create(int index, CreatePostRequest request) {}
+
+    public record Update(int index, String id, UpdatePostRequest request) {}
+
+    public record Delete(int index, String id) {}
+}
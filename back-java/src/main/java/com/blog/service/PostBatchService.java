@@ -0,0 +1,194 @@
+package com.blog.service;
+
+import com.blog.model.BatchResult;
+import com.blog.model.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executa um {@link PostBatch} no {@link PostRepository} em blocos de app.batch.chunk-size: inserts em lote,
+ * updates agrupados pelo mesmo conjunto de campos e remoções por lista de ids (no Supabase: insert em
+ * array e PATCH/DELETE com id=in.(...)).
+ * As fases rodam em ordem (creates, updates, deletes); dentro de cada fase até
+ * app.batch.concurrency blocos seguem em paralelo.
+ */
+@Service
+public class PostBatchService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PostCache postCache;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public PostBatchService(PostRepository postRepository, PostService postService,
+                            PostCache postCache,
+                            @Value("${app.batch.chunk-size:100}") int chunkSize,
+                            @Value("${app.batch.concurrency:4}") int concurrency) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.postCache = postCache;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public List<BatchResult> apply(PostBatch batch) {
+        return applyAsync(batch).block();
+    }
+
+    /**
+     * Emite um resultado por operação, ordenado por index.
+     */
+    public Mono<List<BatchResult>> applyAsync(PostBatch batch) {
+        return Flux.concat(creates(batch.creates()), updates(batch.updates()), deletes(batch.deletes()))
+                .collectList()
+                .map(results -> {
+                    List<BatchResult> sorted = new ArrayList<>(results);
+                    sorted.sort(Comparator.comparingInt(BatchResult::index));
+                    return sorted;
+                })
+                // Muitos posts mudam de uma vez: mais barato derrubar as listas do que checar uma a uma.
+                // Em doFinally para valer também com erro ou cliente que cancelou no meio do batch
+                .doFinally(signal -> postCache.invalidateLists());
+    }
+
+    // Um insert em array é uma transação: se uma linha falhar, o bloco inteiro recebe o mesmo erro
+    private Flux<BatchResult> creates(List<PostBatch.Create> creates) {
+        return Flux.fromIterable(chunks(creates)).flatMapSequential(chunk -> {
+            List<Map<String, Object>> rows = chunk.stream().map(c -> postService.toRow(c.request(), null)).toList();
+            return postRepository.insert(rows)
+                    .flatMapIterable(inserted -> {
+                        List<BatchResult> results = new ArrayList<>(chunk.size());
+                        for (int i = 0; i < chunk.size(); i++) {
+                            int index = chunk.get(i).index();
+                            if (i < inserted.size()) {
+                                Post post = postService.withVariants(inserted.get(i));
+                                // invalidate muda a geração: uma leitura que começou antes não grava por cima
+                                postCache.invalidate(PostCache.byId(post.getId()));
+                                postCache.put(PostCache.byId(post.getId()), post);
+                                postService.indexSaved(post);
+                                results.add(new BatchResult(index, "create", post.getId(), 201, post, null));
+                            } else {
+                                results.add(BatchResult.error(index, "create", null, 500, List.of("Supabase não retornou o post criado")));
+                            }
+                        }
+                        return results;
+                    })
+                    .onErrorResume(e -> Flux.fromIterable(chunk).map(c -> failure(c.index(), "create", null, e)));
+        }, concurrency);
+    }
+
+    private Flux<BatchResult> updates(List<PostBatch.Update> updates) {
+        List<BatchResult> immediate = new ArrayList<>();
+        List<PostBatch.Update> unchanged = new ArrayList<>();
+        // PATCH filtrado aplica o mesmo corpo a todas as linhas: agrupa updates idênticos (ex.: recategorização)
+        Map<Map<String, Object>, List<PostBatch.Update>> groups = new LinkedHashMap<>();
+        for (PostBatch.Update u : updates) {
+            if (!PostCursor.isUuidLike(u.id())) {
+                immediate.add(BatchResult.error(u.index(), "update", u.id(), 400, List.of("id inválido")));
+                continue;
+            }
+            Map<String, Object> fields = postService.toUpdates(u.request(), null);
+            if (fields.isEmpty()) {
+                unchanged.add(u);
+                continue;
+            }
+            groups.computeIfAbsent(fields, k -> new ArrayList<>()).add(u);
+        }
+
+        List<Map.Entry<Map<String, Object>, List<PostBatch.Update>>> work = new ArrayList<>();
+        groups.forEach((fields, group) -> chunks(group).forEach(chunk -> work.add(Map.entry(fields, chunk))));
+
+        return Flux.fromIterable(immediate).concatWith(unchanged(unchanged)).concatWith(Flux.fromIterable(work).flatMapSequential(entry -> {
+            List<PostBatch.Update> chunk = entry.getValue();
+            return postRepository.update(chunk.stream().map(PostBatch.Update::id).toList(), entry.getKey())
+                    .flatMapIterable(updated -> {
+                        Map<String, Post> byId = new HashMap<>();
+                        for (Post post : updated) {
+                            postService.withVariants(post);
+                            byId.put(post.getId(), post);
+                            postCache.invalidate(PostCache.byId(post.getId()));
+                            postCache.put(PostCache.byId(post.getId()), post);
+                            postService.indexSaved(post);
+                        }
+                        return chunk.stream().map(u -> {
+                            Post post = byId.get(u.id());
+                            return post != null
+                                    ? new BatchResult(u.index(), "update", u.id(), 200, post, null)
+                                    : BatchResult.error(u.index(), "update", u.id(), 404, List.of("Post não encontrado"));
+                        }).toList();
+                    })
+                    .onErrorResume(e -> Flux.fromIterable(chunk).map(u -> failure(u.index(), "update", u.id(), e)));
+        }, concurrency));
+    }
+
+    // Update sem campos não faz PATCH, mas ainda responde com o post (200) ou 404: uma leitura id=in.(...) por bloco
+    private Flux<BatchResult> unchanged(List<PostBatch.Update> updates) {
+        return Flux.fromIterable(chunks(updates)).flatMapSequential(chunk ->
+                postRepository.findByIds(chunk.stream().map(PostBatch.Update::id).toList())
+                        .flatMapIterable(found -> {
+                            Map<String, Post> byId = new HashMap<>();
+                            for (Post post : found) byId.put(post.getId(), postService.withVariants(post));
+                            return chunk.stream().map(u -> {
+                                Post post = byId.get(u.id());
+                                return post != null
+                                        ? new BatchResult(u.index(), "update", u.id(), 200, post, null)
+                                        : BatchResult.error(u.index(), "update", u.id(), 404, List.of("Post não encontrado"));
+                            }).toList();
+                        })
+                        .onErrorResume(e -> Flux.fromIterable(chunk).map(u -> failure(u.index(), "update", u.id(), e))),
+                concurrency);
+    }
+
+    private Flux<BatchResult> deletes(List<PostBatch.Delete> deletes) {
+        List<BatchResult> immediate = new ArrayList<>();
+        List<PostBatch.Delete> valid = new ArrayList<>();
+        for (PostBatch.Delete d : deletes) {
+            if (PostCursor.isUuidLike(d.id())) {
+                valid.add(d);
+            } else {
+                immediate.add(BatchResult.error(d.index(), "delete", d.id(), 400, List.of("id inválido")));
+            }
+        }
+
+        return Flux.fromIterable(immediate).concatWith(Flux.fromIterable(chunks(valid)).flatMapSequential(chunk ->
+                postRepository.delete(chunk.stream().map(PostBatch.Delete::id).toList())
+                        .flatMapIterable(deleted -> {
+                            Set<String> ids = new HashSet<>(deleted);
+                            for (String id : deleted) {
+                                postCache.invalidate(PostCache.byId(id));
+                                postService.indexRemoved(id);
+                            }
+                            return chunk.stream().map(d -> ids.contains(d.id())
+                                    ? new BatchResult(d.index(), "delete", d.id(), 204, null, null)
+                                    : BatchResult.error(d.index(), "delete", d.id(), 404, List.of("Post não encontrado"))).toList();
+                        })
+                        .onErrorResume(e -> Flux.fromIterable(chunk).map(d -> failure(d.index(), "delete", d.id(), e))),
+                concurrency));
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static BatchResult failure(int index, String op, String id, Throwable e) {
+        int status = e instanceof WebClientResponseException w ? w.getStatusCode().value() : 500;
+        return BatchResult.error(index, op, id, status, List.of(String.valueOf(e.getMessage())));
+    }
+}
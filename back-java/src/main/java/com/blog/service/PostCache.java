@@ -0,0 +1,203 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * Cache em memória (LRU + TTL) para as leituras do PostService.
+ * Usa ReentrantLock em vez de synchronized para não prender a carrier thread no modo de threads virtuais.
+ * Chaves: "all" (lista completa), "id:{id}", "cat:{categoria}", "sum:{categoria}" (resumos)
+ * e "page:..." (páginas por cursor).
+ */
+@Component
+public class PostCache {
+
+    public static final String ALL = "all";
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostCache(@Value("${app.cache.max-entries:500}") int maxEntries,
+                     @Value("${app.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public static String byId(String id) {
+        return "id:" + id;
+    }
+
+    public static String byCategory(String category) {
+        return "cat:" + category;
+    }
+
+    public static String summaries(String category) {
+        return "sum:" + (category != null ? category : "");
+    }
+
+    public static String page(String projection, String category, String cursor, int limit) {
+        return "page:" + projection + ":" + (category != null ? category : "") + ":" + (cursor != null ? cursor : "") + ":" + limit;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (System.nanoTime() - entry.storedAt >= ttlNanos) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return (T) entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, Object value) {
+        putIfUnchanged(key, value, -1);
+    }
+
+    /**
+     * Guarda o valor só se nenhuma invalidação aconteceu desde {@code expectedGeneration}, lido antes
+     * de ir ao repositório: uma leitura lenta não grava por cima do que uma escrita concorrente acabou
+     * de invalidar ou gravar. -1 grava sempre.
+     */
+    public void putIfUnchanged(String key, Object value, long expectedGeneration) {
+        if (maxEntries <= 0 || value == null) return;
+        lock.lock();
+        try {
+            if (expectedGeneration != -1 && generation.get() != expectedGeneration) return;
+            entries.put(key, new Entry(value, System.nanoTime()));
+            // Remove os menos usados recentemente até caber no limite
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+            generation.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove as entradas cujo par (chave, valor) satisfaz o predicado.
+     */
+    public void invalidateIf(BiPredicate<String, Object> predicate) {
+        lock.lock();
+        try {
+            entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+            generation.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Como {@link #invalidateIf}, mas para mudanças que não são escritas de post (ex.: variantes de imagem
+     * geradas): a geração só muda se alguma entrada saiu, então os caches derivados não esvaziam à toa.
+     */
+    public void evictIf(BiPredicate<String, Object> predicate) {
+        lock.lock();
+        try {
+            if (entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value))) {
+                generation.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            generation.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove todas as entradas de lista (completa, categorias, resumos e páginas), mantendo as de id.
+     */
+    public void invalidateLists() {
+        invalidateIf((key, value) -> !key.startsWith("id:"));
+    }
+
+    /**
+     * Remove a lista completa, as páginas, os resumos e toda lista de categoria que contenha o post
+     * ou seja da categoria informada. Páginas saem sempre: qualquer escrita desloca os limites.
+     */
+    public void invalidateListsFor(String postId, String category) {
+        invalidateIf((key, value) -> ALL.equals(key)
+                || key.startsWith("page:")
+                || key.startsWith("sum:")
+                || (category != null && byCategory(category).equals(key))
+                || (key.startsWith("cat:") && containsPost(value, postId)));
+    }
+
+    private static boolean containsPost(Object value, String postId) {
+        if (postId == null || !(value instanceof List<?> list)) return false;
+        for (Object item : list) {
+            if (item instanceof Post p && postId.equals(p.getId())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Muda a cada invalidação (toda escrita passa por uma): caches derivados, como o de bytes das
+     * respostas HTTP, comparam com o valor que viram por último para saber que precisam esvaziar.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), maxEntries, ttlNanos / 1_000_000_000L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(Object value, long storedAt) {}
+
+    public record CacheStats(long hits, long misses, long evictions, int size, int maxEntries, long ttlSeconds) {}
+}
@@ -0,0 +1,52 @@
+package com.blog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação keyset: codifica (date, id) do último item da página.
+ */
+public record PostCursor(Instant date, String id) {
+
+    public String encode() {
+        String raw = date.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("cursor inválido");
+            }
+            String id = raw.substring(sep + 1);
+            if (!isUuidLike(id)) {
+                throw new IllegalArgumentException("cursor inválido");
+            }
+            return new PostCursor(Instant.parse(raw.substring(0, sep)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("cursor inválido");
+        }
+    }
+
+    // O id vai direto para o filtro PostgREST, então só aceitamos hex e hífen
+    static boolean isUuidLike(String id) {
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            boolean hex = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!hex && c != '-') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Filtro PostgREST equivalente a (date, id) < (cursor.date, cursor.id).
+     */
+    public String toFilter() {
+        String d = "\"" + date + "\"";
+        return "(date.lt." + d + ",and(date.eq." + d + ",id.lt." + id + "))";
+    }
+}
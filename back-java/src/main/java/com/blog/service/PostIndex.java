@@ -0,0 +1,23 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+
+/**
+ * Índice em memória mantido a partir das escritas do PostService (e do batch).
+ * Carregado por inteiro na subida pelo {@link PostIndexLoader}; até lá está incompleto.
+ */
+public interface PostIndex {
+
+    /**
+     * Inclui o post ou substitui a versão anterior com o mesmo id.
+     */
+    void index(Post post);
+
+    void remove(String id);
+
+    /**
+     * Chamado pelo {@link PostIndexLoader} quando a carga inicial termina.
+     */
+    default void loaded() {
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Preenche todos os {@link PostIndex} na subida com uma única leitura em streaming do acervo
+ * (PostService.loadIndexes). Roda em segundo plano: a aplicação já atende enquanto o índice carrega,
+ * e quem consulta um índice ainda não carregado responde 503. Falhas são repetidas até dar certo.
+ */
+@Slf4j
+@Component
+public class PostIndexLoader {
+
+    private final PostService postService;
+    private final List<PostIndex> indexes;
+
+    public PostIndexLoader(PostService postService, List<PostIndex> indexes) {
+        this.postService = postService;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (indexes.isEmpty()) return;
+        long start = System.nanoTime();
+        postService.loadIndexes()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(2))
+                        .maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("Falha ao carregar os índices de posts (tentativa {}): {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage())))
+                .subscribe(count -> {
+                    for (PostIndex index : indexes) index.loaded();
+                    log.info("Índices carregados: {} posts em {} ms", count, (System.nanoTime() - start) / 1_000_000);
+                });
+    }
+}
@@ -0,0 +1,221 @@
+package com.blog.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo append-only usado pelo {@link LocalPostRepository}. Cada registro é
+ * [tamanho int][crc32 int][tipo byte][payload]; leituras vêm de um MappedByteBuffer do arquivo,
+ * remapeado quando o arquivo cresce. Um registro incompleto no fim (queda no meio da escrita)
+ * é descartado ao abrir, com cópia; corrupção no meio do arquivo impede a subida. Limite de 2 GB
+ * (um único mapeamento).
+ */
+@Slf4j
+final class PostLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int HEADER = 9;
+
+    private final Path path;
+    private final boolean fsync;
+    private FileChannel channel;
+    private long end;
+    private volatile MappedByteBuffer mapped;
+    // ReentrantLock e não synchronized: o fsync não prende a carrier thread com threads virtuais
+    private final ReentrantLock lock = new ReentrantLock();
+
+    PostLog(Path path, boolean fsync) {
+        this.path = path;
+        this.fsync = fsync;
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir " + path, e);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        end = channel.size();
+        remap();
+    }
+
+    interface Visitor {
+        void record(byte type, long offset, int length, ByteBuffer payload);
+    }
+
+    /**
+     * Percorre os registros válidos em ordem. Um registro incompleto no fim do arquivo (queda no meio
+     * da escrita) é copiado para um arquivo ".torn-*" ao lado e cortado; um registro corrompido com
+     * dados depois dele impede a subida, sem mexer no arquivo.
+     */
+    void replay(Visitor visitor) {
+        lock.lock();
+        try {
+            MappedByteBuffer buf = mapped;
+            long pos = 0;
+            CRC32 crc = new CRC32();
+            while (pos + HEADER <= end) {
+                int length = buf.getInt((int) pos);
+                int checksum = buf.getInt((int) pos + 4);
+                byte type = buf.get((int) pos + 8);
+                long payloadAt = pos + HEADER;
+                // Tamanho além do fim: o registro não chegou a ser gravado inteiro
+                if (length < 0 || payloadAt + length > end) break;
+
+                ByteBuffer payload = buf.slice((int) payloadAt, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((type != PUT && type != DELETE) || (int) crc.getValue() != checksum) {
+                    if (payloadAt + length == end) break;
+                    throw new IllegalStateException("Registro corrompido na posição " + pos + " de " + path
+                            + ", com " + (end - payloadAt - length) + " bytes de registros depois dele;"
+                            + " restaure um backup ou remova o registro antes de subir");
+                }
+
+                visitor.record(type, payloadAt, length, payload);
+                pos = payloadAt + length;
+            }
+            if (pos < end) discardTail(pos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acrescenta um registro e devolve a posição do payload.
+     */
+    long append(byte type, byte[] payload) {
+        lock.lock();
+        try {
+            if (end + HEADER + payload.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("log local passou de 2 GB: " + path);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer header = ByteBuffer.allocate(HEADER)
+                    .putInt(payload.length)
+                    .putInt((int) crc.getValue())
+                    .put(type)
+                    .flip();
+            try {
+                long at = end;
+                ByteBuffer[] parts = {header, ByteBuffer.wrap(payload)};
+                long written = 0;
+                channel.position(at);
+                while (written < HEADER + payload.length) written += channel.write(parts);
+                if (fsync) channel.force(false);
+                end = at + written;
+                return at + HEADER;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar em " + path, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    byte[] read(long offset, int length) {
+        MappedByteBuffer buf = mapped;
+        if (offset + length > buf.capacity()) {
+            buf = remapIfNeeded(offset + length);
+        }
+        byte[] bytes = new byte[length];
+        buf.get((int) offset, bytes);
+        return bytes;
+    }
+
+    private MappedByteBuffer remapIfNeeded(long needed) {
+        lock.lock();
+        try {
+            if (mapped.capacity() < needed) remap();
+            return mapped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remap() {
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao mapear " + path, e);
+        }
+    }
+
+    long size() {
+        return end;
+    }
+
+    /**
+     * Reescreve o log só com os registros informados (compactação) e troca o arquivo de forma atômica.
+     * Devolve as novas posições dos payloads, na mesma ordem.
+     */
+    long[] rewrite(byte[][] payloads) {
+        lock.lock();
+        try {
+            Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+            try {
+                Files.deleteIfExists(tmp);
+                long[] offsets = new long[payloads.length];
+                try (PostLog compacted = new PostLog(tmp, false)) {
+                    for (int i = 0; i < payloads.length; i++) offsets[i] = compacted.append(PUT, payloads[i]);
+                    compacted.channel.force(true);
+                }
+                channel.close();
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                open();
+                return offsets;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao compactar " + path, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Guarda o pedaço descartado antes de cortar: nada sai do disco sem cópia
+    private void discardTail(long from) {
+        Path backup = path.resolveSibling(path.getFileName() + ".torn-" + System.currentTimeMillis());
+        try {
+            byte[] tail = new byte[(int) (end - from)];
+            mapped.get((int) from, tail);
+            Files.write(backup, tail, StandardOpenOption.CREATE_NEW);
+            log.warn("Registro incompleto no fim de {} ({} bytes) copiado para {} e descartado", path, tail.length, backup);
+            channel.truncate(from);
+            end = from;
+            remap();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao descartar o fim de " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+import com.blog.model.PostSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Onde os posts ficam guardados. app.storage escolhe a implementação: "supabase" (padrão,
+ * {@link SupabasePostRepository}) ou "local" ({@link LocalPostRepository}).
+ *
+ * Listas vêm sempre do mais recente para o mais antigo (date desc, id desc). As linhas de escrita
+ * usam os nomes de coluna da tabela posts (reading_time, updated_at...), como o PostgREST.
+ */
+public interface PostRepository {
+
+    Mono<List<Post>> findAll();
+
+    /**
+     * Emite o post ou completa vazio se não existir.
+     */
+    Mono<Post> findById(String id);
+
+    /**
+     * Os posts que existem entre os ids, em qualquer ordem; os que não existem ficam de fora.
+     */
+    Mono<List<Post>> findByIds(Collection<String> ids);
+
+    Mono<List<Post>> findByCategory(String category);
+
+    /**
+     * Resumos (sem conteudo). category pode ser null.
+     */
+    Mono<List<PostSummary>> findSummaries(String category);
+
+    /**
+     * Até limit posts depois do cursor. category e after podem ser null.
+     */
+    Mono<List<Post>> findPage(String category, PostCursor after, int limit);
+
+    Mono<List<PostSummary>> findSummaryPage(String category, PostCursor after, int limit);
+
+    /**
+     * Todos os posts, um a um, sem montar a lista inteira em memória.
+     */
+    Flux<Post> streamAll();
+
+    /**
+     * Insere as linhas (id, created_at e updated_at são gerados) e emite os posts criados, na mesma ordem.
+     */
+    Mono<List<Post>> insert(List<Map<String, Object>> rows);
+
+    /**
+     * Aplica os mesmos campos a todos os ids e emite os posts que existiam, já atualizados.
+     */
+    Mono<List<Post>> update(Collection<String> ids, Map<String, Object> fields);
+
+    /**
+     * Remove os posts e emite os ids que existiam.
+     */
+    Mono<List<String>> delete(Collection<String> ids);
+}
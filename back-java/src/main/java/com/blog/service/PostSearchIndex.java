@@ -0,0 +1,299 @@
+package com.blog.service;
+
+import com.blog.model.CodeBlock;
+import com.blog.model.CodeExample;
+import com.blog.model.ContentBlock;
+import com.blog.model.Post;
+import com.blog.model.PostSummary;
+import com.blog.model.TextBlock;
+import com.blog.model.TitleBlock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória para a busca de posts, com ranking BM25.
+ * Indexa título, resumo, tags e o texto dos blocos (parágrafos, títulos e código); título e tags
+ * pesam mais repetindo o termo. Termos sem acento e em minúsculas (ver {@link SearchText}).
+ *
+ * Cada post recebe um número interno (doc) em ordem crescente, então as listas de postings ficam
+ * ordenadas só com append. Remoção/atualização marca o doc antigo como morto; quando os mortos
+ * passam dos vivos o índice é reconstruído.
+ */
+@Component
+public class PostSearchIndex implements PostIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int EXCERPT_WEIGHT = 2;
+
+    private final boolean enabled;
+    private volatile boolean loaded;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    // Tamanho de cada doc, -1 quando removido; fica fora de Doc para o laço de score ler um array só
+    private int[] lengths = new int[64];
+    private int liveDocs;
+    private long totalLength;
+
+    public PostSearchIndex(@Value("${app.search.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void index(Post post) {
+        if (!enabled || post == null || post.getId() == null) return;
+        Map<String, Integer> tf = termFrequencies(post);
+        int length = 0;
+        for (int f : tf.values()) length += f;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(post.getId());
+            int doc = docs.size();
+            if (doc == lengths.length) lengths = Arrays.copyOf(lengths, doc * 2);
+            lengths[doc] = length;
+            docs.add(new Doc(PostSummary.of(post), length, tf.keySet().toArray(String[]::new)));
+            docById.put(post.getId(), doc);
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new Postings()).add(doc, e.getValue());
+            }
+            liveDocs++;
+            totalLength += length;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        if (!enabled || id == null) return;
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loaded() {
+        loaded = true;
+    }
+
+    /**
+     * False até a carga inicial terminar: antes disso a busca devolveria resultados faltando.
+     */
+    public boolean isReady() {
+        return !enabled || loaded;
+    }
+
+    /**
+     * Os limit posts mais relevantes para a consulta, do maior score para o menor.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        SearchText.tokenize(query, terms::add);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return List.of();
+            double avgLength = Math.max(1.0, (double) totalLength / liveDocs);
+            double[] scores = new double[docs.size()];
+            int[] lengths = this.lengths;
+            double lengthNorm = K1 * B / avgLength;
+            double baseNorm = K1 * (1 - B);
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null || p.live == 0) continue;
+                double idf = Math.log(1 + (liveDocs - p.live + 0.5) / (p.live + 0.5));
+                double weight = idf * (K1 + 1);
+                int[] postingDocs = p.docs;
+                int[] freqs = p.freqs;
+                for (int i = 0, n = p.size; i < n; i++) {
+                    int doc = postingDocs[i];
+                    int length = lengths[doc];
+                    if (length < 0) continue;
+                    int f = freqs[i];
+                    if (scores[doc] == 0) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += weight * f / (f + baseNorm + lengthNorm * length);
+                }
+            }
+
+            // Top-k com heap mínimo de ints (sem boxing): não ordena todos os candidatos
+            int k = Math.min(limit, touchedCount);
+            int[] heap = new int[k];
+            int heapSize = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (heapSize < k) {
+                    heap[heapSize] = doc;
+                    siftUp(heap, heapSize++, scores);
+                } else if (scores[doc] > scores[heap[0]]) {
+                    heap[0] = doc;
+                    siftDown(heap, heapSize, scores);
+                }
+            }
+            Hit[] hits = new Hit[heapSize];
+            while (heapSize > 0) {
+                int doc = heap[0];
+                hits[--heapSize] = new Hit(docs.get(doc).summary, scores[doc]);
+                heap[0] = heap[heapSize];
+                siftDown(heap, heapSize, scores);
+            }
+            return List.of(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void siftUp(int[] heap, int i, double[] scores) {
+        int doc = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[doc]) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = doc;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) return;
+        int doc = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) child++;
+            if (scores[doc] <= scores[heap[child]]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = doc;
+    }
+
+    private void removeLocked(String id) {
+        Integer doc = docById.remove(id);
+        if (doc == null) return;
+        Doc d = docs.set(doc, null);
+        lengths[doc] = -1;
+        for (String term : d.terms) {
+            Postings p = postings.get(term);
+            if (--p.live == 0) postings.remove(term);
+        }
+        liveDocs--;
+        totalLength -= d.length;
+    }
+
+    // Renumera os docs vivos e refaz as postings sem as entradas mortas
+    private void compactIfSparse() {
+        if (docs.size() - liveDocs <= Math.max(1024, liveDocs)) return;
+
+        List<Doc> live = new ArrayList<>(liveDocs);
+        Map<Integer, Integer> renumber = new HashMap<>(liveDocs * 2);
+        for (int doc = 0; doc < docs.size(); doc++) {
+            Doc d = docs.get(doc);
+            if (d != null) {
+                renumber.put(doc, live.size());
+                live.add(d);
+            }
+        }
+        for (Postings p : postings.values()) {
+            int n = 0;
+            for (int i = 0; i < p.size; i++) {
+                Integer doc = renumber.get(p.docs[i]);
+                if (doc == null) continue;
+                p.docs[n] = doc;
+                p.freqs[n] = p.freqs[i];
+                n++;
+            }
+            p.size = n;
+        }
+        docs.clear();
+        docs.addAll(live);
+        for (int doc = 0; doc < docs.size(); doc++) lengths[doc] = docs.get(doc).length;
+        docById.clear();
+        for (int doc = 0; doc < docs.size(); doc++) docById.put(docs.get(doc).summary.getId(), doc);
+    }
+
+    private static Map<String, Integer> termFrequencies(Post post) {
+        Map<String, Integer> tf = new HashMap<>();
+        addTerms(tf, post.getTitle(), TITLE_WEIGHT);
+        addTerms(tf, post.getExcerpt(), EXCERPT_WEIGHT);
+        if (post.getTags() != null) {
+            for (String tag : post.getTags()) addTerms(tf, tag, TAG_WEIGHT);
+        }
+        if (post.getConteudo() != null) {
+            for (ContentBlock block : post.getConteudo()) {
+                if (block instanceof TextBlock b) {
+                    addTerms(tf, b.getContent(), 1);
+                } else if (block instanceof TitleBlock b && b.getContent() != null) {
+                    addTerms(tf, b.getContent().getText(), 1);
+                } else if (block instanceof CodeBlock b && b.getContent() != null && b.getContent().getExamples() != null) {
+                    for (CodeExample ex : b.getContent().getExamples()) {
+                        if (ex != null) addTerms(tf, ex.getCode(), 1);
+                    }
+                }
+            }
+        }
+        return tf;
+    }
+
+    private static void addTerms(Map<String, Integer> tf, String text, int weight) {
+        SearchText.tokenize(text, term -> tf.merge(term, weight, Integer::sum));
+    }
+
+    private record Doc(PostSummary summary, int length, String[] terms) {}
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int live;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+    }
+
+    public record Hit(PostSummary post, double score) {}
+}
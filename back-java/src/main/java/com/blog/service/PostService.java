@@ -2,67 +2,242 @@ package com.blog.service;
 
 import com.blog.model.CreatePostRequest;
 import com.blog.model.Post;
+import com.blog.model.PostPage;
+import com.blog.model.PostSummary;
 import com.blog.model.UpdatePostRequest;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.MediaType;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Acesso aos posts (via {@link PostRepository}), com PostCache e índices em memória.
+ * Cada operação tem uma variante não bloqueante (sufixo Async, usada no modo reativo) e uma
+ * bloqueante, que apenas faz block() sobre a primeira.
+ */
 @Service
 public class PostService {
 
-    private final WebClient supabaseWebClient;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PostRepository postRepository;
     private final ContentService contentService;
     private final PostValidator postValidator;
+    private final PostCache postCache;
+    private final List<PostIndex> indexes;
+    private final ImageVariantService imageVariants;
+    // Ids já indexados enquanto a carga inicial dos índices roda; null fora dela
+    private volatile Map<String, Boolean> loadingIds;
 
-    public PostService(@Qualifier("supabaseWebClient") WebClient supabaseWebClient, ContentService contentService, PostValidator postValidator) {
-        this.supabaseWebClient = supabaseWebClient;
+    public PostService(PostRepository postRepository, ContentService contentService,
+                       PostValidator postValidator, PostCache postCache, List<PostIndex> indexes,
+                       ImageVariantService imageVariants) {
+        this.postRepository = postRepository;
         this.contentService = contentService;
         this.postValidator = postValidator;
+        this.postCache = postCache;
+        this.indexes = indexes;
+        this.imageVariants = imageVariants;
     }
 
     public List<Post> findAll() {
-        List<Post> list = supabaseWebClient.get()
-                .uri(uri -> uri.path("/posts").queryParam("order", "date.desc").build())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Post>>() {})
-                .block();
-        return list != null ? list : List.of();
+        return findAllAsync().block();
+    }
+
+    public Mono<List<Post>> findAllAsync() {
+        return cached(PostCache.ALL, postRepository::findAll);
     }
 
     public Post findById(String id) {
-        List<Post> list = supabaseWebClient.get()
-                .uri(uri -> uri.path("/posts").queryParam("id", "eq." + id).build())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Post>>() {})
-                .block();
-        if (list == null || list.isEmpty()) return null;
-        return list.get(0);
+        return findByIdAsync(id).block();
+    }
+
+    /**
+     * Emite o post ou completa vazio se não existir.
+     */
+    public Mono<Post> findByIdAsync(String id) {
+        return cached(PostCache.byId(id), () -> postRepository.findById(id));
     }
 
     public List<Post> findByCategory(String category) {
-        List<Post> list = supabaseWebClient.get()
-                .uri(uri -> uri.path("/posts")
-                        .queryParam("category", "eq." + category)
-                        .queryParam("order", "date.desc")
-                        .build())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Post>>() {})
-                .block();
-        return list != null ? list : List.of();
+        return findByCategoryAsync(category).block();
+    }
+
+    public Mono<List<Post>> findByCategoryAsync(String category) {
+        return cached(PostCache.byCategory(category), () -> postRepository.findByCategory(category));
+    }
+
+    /**
+     * Página de posts (mais recentes primeiro) a partir do cursor. category pode ser null.
+     */
+    public PostPage<Post> findPage(String category, Integer limit, String cursor) {
+        return findPageAsync(category, limit, cursor).block();
+    }
+
+    public Mono<PostPage<Post>> findPageAsync(String category, Integer limit, String cursor) {
+        return findPage("full", category, limit, cursor, postRepository::findPage, p -> new PostCursor(p.getDate(), p.getId()));
+    }
+
+    /**
+     * Lista de resumos (sem conteudo). category pode ser null.
+     */
+    public List<PostSummary> findSummaries(String category) {
+        return findSummariesAsync(category).block();
+    }
+
+    public Mono<List<PostSummary>> findSummariesAsync(String category) {
+        return cached(PostCache.summaries(category), () -> postRepository.findSummaries(category));
+    }
+
+    public PostPage<PostSummary> findSummaryPage(String category, Integer limit, String cursor) {
+        return findSummaryPageAsync(category, limit, cursor).block();
+    }
+
+    public Mono<PostPage<PostSummary>> findSummaryPageAsync(String category, Integer limit, String cursor) {
+        return findPage("summary", category, limit, cursor, postRepository::findSummaryPage, p -> new PostCursor(p.getDate(), p.getId()));
+    }
+
+    /**
+     * Pede limit + 1 itens ao repositório para saber se existe próxima página sem contar a tabela.
+     */
+    private <T> Mono<PostPage<T>> findPage(String projection, String category, Integer limit, String cursor,
+                                           PageQuery<T> query, Function<T, PostCursor> cursorOf) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        PostCursor after = cursor != null && !cursor.isBlank() ? PostCursor.decode(cursor) : null;
+
+        String cacheKey = PostCache.page(projection, category, after != null ? cursor : null, size);
+        return cached(cacheKey, () -> query.find(category, after, size + 1)
+                .map(list -> {
+                    if (list.size() > size) {
+                        List<T> items = List.copyOf(list.subList(0, size));
+                        return new PostPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+                    }
+                    return new PostPage<>(List.copyOf(list), null);
+                }));
+    }
+
+    private interface PageQuery<T> {
+        Mono<List<T>> find(String category, PostCursor after, int limit);
+    }
+
+    /**
+     * Todos os posts, do mais recente ao mais antigo, emitidos um a um conforme o repositório os lê;
+     * nenhuma lista com o acervo inteiro é montada e o PostCache não é usado.
+     */
+    public Flux<Post> exportAll() {
+        return postRepository.streamAll().map(this::withVariants);
+    }
+
+    /**
+     * Carga inicial dos {@link PostIndex} (feita pelo PostIndexLoader) a partir de {@link #exportAll()}.
+     * Uma escrita feita durante a carga já indexou a versão nova do post (ou o removeu), então a linha
+     * exportada desse id, mais velha, é descartada; por id, escrita e carga não se intercalam. Pode ser
+     * repetida depois de uma falha: o que já foi indexado continua valendo.
+     *
+     * @return quantos posts vieram do export
+     */
+    public Mono<Long> loadIndexes() {
+        return Mono.defer(() -> {
+            if (loadingIds == null) loadingIds = new ConcurrentHashMap<>();
+            Map<String, Boolean> ids = loadingIds;
+            return exportAll()
+                    .doOnNext(post -> {
+                        if (post.getId() == null) return;
+                        ids.computeIfAbsent(post.getId(), id -> {
+                            for (PostIndex index : indexes) index.index(post);
+                            return Boolean.TRUE;
+                        });
+                    })
+                    .count()
+                    .doOnSuccess(count -> loadingIds = null);
+        });
     }
 
     public Post create(CreatePostRequest request, String imagePath) {
+        return createAsync(request, imagePath).block();
+    }
+
+    public Mono<Post> createAsync(CreatePostRequest request, String imagePath) {
+        Map<String, Object> row = toRow(request, imagePath);
+
+        return postRepository.insert(List.of(row))
+                .filter(inserted -> !inserted.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("O armazenamento não retornou o post criado")))
+                .map(inserted -> {
+                    Post post = withVariants(inserted.get(0));
+                    postCache.invalidateListsFor(post.getId(), post.getCategory());
+                    postCache.put(PostCache.byId(post.getId()), post);
+                    indexSaved(post);
+                    return post;
+                });
+    }
+
+    public Post update(String id, UpdatePostRequest request, String imagePath) {
+        return updateAsync(id, request, imagePath).block();
+    }
+
+    /**
+     * Emite o post atualizado ou completa vazio se não existir.
+     */
+    public Mono<Post> updateAsync(String id, UpdatePostRequest request, String imagePath) {
+        Map<String, Object> updates = toUpdates(request, imagePath);
+
+        // Nada a alterar: não há PATCH; a resposta sai do PostCache quando o post já foi lido
+        if (updates.isEmpty()) {
+            return findByIdAsync(id);
+        }
+
+        return postRepository.update(List.of(id), updates)
+                .mapNotNull(updated -> {
+                    if (updated.isEmpty()) return null;
+                    Post post = withVariants(updated.get(0));
+                    postCache.invalidateListsFor(id, post.getCategory());
+                    postCache.put(PostCache.byId(id), post);
+                    indexSaved(post);
+                    return post;
+                });
+    }
+
+    /**
+     * Remove o post em uma única chamada: o repositório devolve os ids apagados,
+     * então não é preciso um findById antes para distinguir 204 de 404.
+     *
+     * @return true se o post existia e foi removido
+     */
+    public boolean delete(String id) {
+        return Boolean.TRUE.equals(deleteAsync(id).block());
+    }
+
+    public Mono<Boolean> deleteAsync(String id) {
+        return postRepository.delete(List.of(id))
+                .map(deleted -> !deleted.isEmpty())
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        postCache.invalidate(PostCache.byId(id));
+                        postCache.invalidateListsFor(id, null);
+                        indexRemoved(id);
+                    }
+                });
+    }
+
+    public boolean exists(String id) {
+        return findById(id) != null;
+    }
+
+    Map<String, Object> toRow(CreatePostRequest request, String imagePath) {
         String readingTime = request.getReadingTime() != null
                 ? request.getReadingTime()
                 : contentService.calculateReadingTime(request.getConteudo());
 
-        Map<String, Object> row = Map.of(
+        return Map.of(
                 "title", request.getTitle(),
                 "category", request.getCategory(),
                 "tags", request.getTags() != null ? request.getTags() : List.of(),
@@ -72,22 +247,9 @@ public class PostService {
                 "reading_time", readingTime,
                 "date", Instant.now().toString()
         );
-
-        List<Post> inserted = supabaseWebClient.post()
-                .uri("/posts")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(row)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Post>>() {})
-                .block();
-
-        if (inserted == null || inserted.isEmpty()) {
-            throw new RuntimeException("Supabase não retornou o post criado");
-        }
-        return inserted.get(0);
     }
 
-    public Post update(String id, UpdatePostRequest request, String imagePath) {
+    Map<String, Object> toUpdates(UpdatePostRequest request, String imagePath) {
         Map<String, Object> updates = new java.util.HashMap<>();
         if (request.getTitle() != null) updates.put("title", request.getTitle());
         if (request.getCategory() != null) updates.put("category", request.getCategory());
@@ -100,32 +262,64 @@ public class PostService {
         } else if (request.getConteudo() != null) {
             updates.put("reading_time", contentService.calculateReadingTime(request.getConteudo()));
         }
+        return updates;
+    }
 
-        if (updates.isEmpty()) {
-            return findById(id);
-        }
+    /**
+     * Preenche imageVariants (srcset das imagens em /uploads) antes do post ir para o cache ou a resposta.
+     */
+    Post withVariants(Post post) {
+        post.setImageVariants(imageVariants.variantsFor(post.getImage()));
+        return post;
+    }
 
-        List<Post> updated = supabaseWebClient.patch()
-                .uri(uri -> uri.path("/posts").queryParam("id", "eq." + id).build())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(updates)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Post>>() {})
-                .block();
+    private void attachVariants(Object value) {
+        if (value instanceof Post post) {
+            withVariants(post);
+        } else if (value instanceof PostSummary summary) {
+            summary.setImageVariants(imageVariants.variantsFor(summary.getImage()));
+        } else if (value instanceof PostPage<?> page) {
+            page.items().forEach(this::attachVariants);
+        } else if (value instanceof Collection<?> values) {
+            values.forEach(this::attachVariants);
+        }
+    }
 
-        if (updated == null || updated.isEmpty()) return null;
-        return updated.get(0);
+    // Mantém os índices em memória (busca, tags) em dia com cada escrita; o batch também passa por aqui
+    void indexSaved(Post post) {
+        Map<String, Boolean> loading = loadingIds;
+        if (loading == null || post.getId() == null) {
+            for (PostIndex index : indexes) index.index(post);
+            return;
+        }
+        loading.compute(post.getId(), (id, seen) -> {
+            for (PostIndex index : indexes) index.index(post);
+            return Boolean.TRUE;
+        });
     }
 
-    public void delete(String id) {
-        supabaseWebClient.delete()
-                .uri(uri -> uri.path("/posts").queryParam("id", "eq." + id).build())
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+    void indexRemoved(String id) {
+        Map<String, Boolean> loading = loadingIds;
+        if (loading == null || id == null) {
+            for (PostIndex index : indexes) index.remove(id);
+            return;
+        }
+        loading.compute(id, (key, seen) -> {
+            for (PostIndex index : indexes) index.remove(key);
+            return Boolean.TRUE;
+        });
     }
 
-    public boolean exists(String id) {
-        return findById(id) != null;
+    private <T> Mono<T> cached(String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            T hit = postCache.get(key);
+            if (hit != null) return Mono.just(hit);
+            // Lida antes da consulta: se uma escrita invalidar o cache no meio, este resultado não entra
+            long generation = postCache.generation();
+            return loader.get().doOnNext(value -> {
+                attachVariants(value);
+                postCache.putIfUnchanged(key, value, generation);
+            });
+        });
     }
 }
@@ -0,0 +1,217 @@
+package com.blog.service;
+
+import com.blog.model.Post;
+import com.blog.model.PostPage;
+import com.blog.model.PostSummary;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice tag → posts em memória, com uma RoaringBitmap (bitset comprimido) de docs por tag.
+ * Consultas por uma ou várias tags (AND/OR) e contagem por tag saem daqui, sem ir ao Supabase.
+ * Tags são comparadas sem diferenciar maiúsculas nem acentos; a listagem mostra a grafia vista primeiro.
+ */
+@Component
+public class PostTagIndex implements PostIndex {
+
+    // Mesma ordem do keyset do PostService: date desc, id desc
+    private static final Comparator<PostSummary> NEWEST_FIRST = Comparator
+            .comparing((PostSummary s) -> s.getDate() != null ? s.getDate() : Instant.MIN)
+            .thenComparing(PostSummary::getId)
+            .reversed();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final List<PostSummary> docs = new ArrayList<>();
+    private final Map<String, RoaringBitmap> postsByTag = new HashMap<>();
+    private final Map<String, String> labels = new HashMap<>();
+    private int liveDocs;
+    private volatile boolean loaded;
+
+    @Override
+    public void index(Post post) {
+        if (post == null || post.getId() == null) return;
+        PostSummary summary = PostSummary.of(post);
+        lock.writeLock().lock();
+        try {
+            removeLocked(post.getId());
+            int doc = docs.size();
+            docs.add(summary);
+            docById.put(post.getId(), doc);
+            liveDocs++;
+            if (post.getTags() != null) {
+                for (String tag : post.getTags()) {
+                    String key = key(tag);
+                    if (key.isEmpty()) continue;
+                    postsByTag.computeIfAbsent(key, k -> new RoaringBitmap()).add(doc);
+                    labels.putIfAbsent(key, tag.trim());
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loaded() {
+        loaded = true;
+    }
+
+    /**
+     * False até a carga inicial terminar: antes disso contagens e páginas sairiam incompletas.
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Página de posts (mais recentes primeiro) com todas (matchAll) ou alguma das tags.
+     */
+    public PostPage<PostSummary> findPage(List<String> tags, boolean matchAll, Integer limit, String cursor) {
+        int size = limit == null ? PostService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(PostService.MAX_PAGE_SIZE, limit));
+        PostCursor after = cursor != null && !cursor.isBlank() ? PostCursor.decode(cursor) : null;
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String key = key(tag);
+            if (!key.isEmpty()) keys.add(key);
+        }
+        if (keys.isEmpty()) throw new IllegalArgumentException("informe pelo menos uma tag");
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matching(keys, matchAll);
+
+            // Heap com os size + 1 mais recentes depois do cursor; o extra indica se há próxima página
+            PriorityQueue<PostSummary> newest = new PriorityQueue<>(size + 2, NEWEST_FIRST.reversed());
+            IntIterator it = matches.getIntIterator();
+            while (it.hasNext()) {
+                PostSummary post = docs.get(it.next());
+                if (after != null && !isAfter(post, after)) continue;
+                newest.add(post);
+                if (newest.size() > size + 1) newest.poll();
+            }
+
+            List<PostSummary> items = new ArrayList<>(newest);
+            items.sort(NEWEST_FIRST);
+            if (items.size() > size) {
+                items = items.subList(0, size);
+                PostSummary last = items.get(size - 1);
+                return new PostPage<>(List.copyOf(items), new PostCursor(last.getDate(), last.getId()).encode());
+            }
+            return new PostPage<>(List.copyOf(items), null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todas as tags com a quantidade de posts, da mais usada para a menos usada.
+     */
+    public List<TagCount> counts() {
+        lock.readLock().lock();
+        try {
+            List<TagCount> counts = new ArrayList<>(postsByTag.size());
+            postsByTag.forEach((key, posts) -> counts.add(new TagCount(labels.get(key), posts.getCardinality())));
+            counts.sort(Comparator.comparingInt(TagCount::count).reversed().thenComparing(TagCount::tag));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap matching(Set<String> keys, boolean matchAll) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            RoaringBitmap posts = postsByTag.get(key);
+            if (posts == null) {
+                if (matchAll) return new RoaringBitmap();
+                continue;
+            }
+            bitmaps.add(posts);
+        }
+        if (bitmaps.isEmpty()) return new RoaringBitmap();
+        if (bitmaps.size() == 1) return bitmaps.get(0);
+        return matchAll ? FastAggregation.and(bitmaps.iterator()) : FastAggregation.or(bitmaps.iterator());
+    }
+
+    private static boolean isAfter(PostSummary post, PostCursor cursor) {
+        Instant date = post.getDate() != null ? post.getDate() : Instant.MIN;
+        int cmp = date.compareTo(cursor.date());
+        return cmp < 0 || (cmp == 0 && post.getId().compareTo(cursor.id()) < 0);
+    }
+
+    private void removeLocked(String id) {
+        Integer doc = docById.remove(id);
+        if (doc == null) return;
+        PostSummary old = docs.set(doc, null);
+        liveDocs--;
+        if (old.getTags() == null) return;
+        for (String tag : old.getTags()) {
+            String key = key(tag);
+            RoaringBitmap posts = postsByTag.get(key);
+            if (posts == null) continue;
+            posts.remove(doc);
+            if (posts.isEmpty()) {
+                postsByTag.remove(key);
+                labels.remove(key);
+            }
+        }
+    }
+
+    // Os bitmaps só têm docs vivos; renumerar apenas devolve o espaço dos removidos
+    private void compactIfSparse() {
+        if (docs.size() - liveDocs <= Math.max(1024, liveDocs)) return;
+
+        int[] renumber = new int[docs.size()];
+        List<PostSummary> live = new ArrayList<>(liveDocs);
+        for (int doc = 0; doc < docs.size(); doc++) {
+            PostSummary post = docs.get(doc);
+            renumber[doc] = post != null ? live.size() : -1;
+            if (post != null) live.add(post);
+        }
+        for (Map.Entry<String, RoaringBitmap> e : postsByTag.entrySet()) {
+            RoaringBitmap renumbered = new RoaringBitmap();
+            e.getValue().forEach((int doc) -> renumbered.add(renumber[doc]));
+            renumbered.runOptimize();
+            e.setValue(renumbered);
+        }
+        docs.clear();
+        docs.addAll(live);
+        docById.clear();
+        for (int doc = 0; doc < docs.size(); doc++) docById.put(docs.get(doc).getId(), doc);
+    }
+
+    private static String key(String tag) {
+        return tag == null ? "" : SearchText.fold(tag.trim());
+    }
+
+    public record TagCount(String tag, int count) {}
+}
@@ -1,11 +1,10 @@
 package com.blog.service;
 
+import com.blog.model.ContentBlock;
 import com.blog.model.CreatePostRequest;
 import com.blog.model.UpdatePostRequest;
 import org.springframework.stereotype.Service;
 
-
-import java.util.Map;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -62,19 +61,11 @@ public class PostValidator {
         } else if (!(conteudo instanceof List)) {
             errors.add("conteudo deve ser um array");
         } else {
-            @SuppressWarnings("unchecked")
-            List<Object> list = (List<Object>) conteudo;
+            List<?> list = (List<?>) conteudo;
             if (list.isEmpty()) {
                 errors.add("conteudo deve ter pelo menos um bloco");
             } else {
-                List<Map<String, Object>> blocks = list.stream()
-                        .filter(m -> m instanceof Map)
-                        .map(m -> (Map<String, Object>) m)
-                        .collect(Collectors.toList());
-                // Validação de blocos de conteúdo desligada – aceita qualquer estrutura
-                // if (blocks.size() != list.size() || !contentService.validateContentBlocks(blocks)) {
-                //     errors.add("alguns blocos de conteudo são inválidos");
-                // }
+                contentService.validateContentBlocks(list, "conteudo", errors);
             }
         }
 
@@ -115,14 +106,7 @@ public class PostValidator {
                 if (list.isEmpty()) {
                     errors.add("conteudo deve ter pelo menos um bloco");
                 } else {
-                    List<Map<String, Object>> blocks = list.stream()
-                            .filter(m -> m instanceof Map)
-                            .map(m -> (Map<String, Object>) m)
-                            .collect(Collectors.toList());
-                    // Validação de blocos de conteúdo desligada – aceita qualquer estrutura
-                    // if (blocks.size() != list.size() || !contentService.validateContentBlocks(blocks)) {
-                    //     errors.add("alguns blocos de conteudo são inválidos");
-                    // }
+                    contentService.validateContentBlocks(list, "conteudo", errors);
                 }
             }
         }
@@ -131,7 +115,7 @@ public class PostValidator {
     }
 
     public CreatePostRequest sanitizeCreatePostData(String title, String category, List<String> tags,
-                                                    String image, String excerpt, List<Map<String, Object>> conteudo,
+                                                    String image, String excerpt, List<ContentBlock> conteudo,
                                                     String readingTime) {
         CreatePostRequest r = new CreatePostRequest();
         r.setTitle(title != null ? title.trim().substring(0, Math.min(200, title.trim().length())) : "");
@@ -145,7 +129,7 @@ public class PostValidator {
     }
 
     public UpdatePostRequest sanitizeUpdatePostData(String title, String category, List<String> tags,
-                                                    String image, String excerpt, List<Map<String, Object>> conteudo,
+                                                    String image, String excerpt, List<ContentBlock> conteudo,
                                                     String readingTime) {
         UpdatePostRequest r = new UpdatePostRequest();
         if (title != null) r.setTitle(title.trim().substring(0, Math.min(200, title.trim().length())));
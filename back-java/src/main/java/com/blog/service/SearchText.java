@@ -0,0 +1,56 @@
+package com.blog.service;
+
+import java.text.Normalizer;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Normalização de texto para os índices: minúsculas e sem acentos ("Programação" → "programacao").
+ */
+final class SearchText {
+
+    // Palavras muito frequentes em português que não ajudam a ranquear
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "e", "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "um", "uma", "uns", "umas", "para", "pra", "por", "com", "sem", "que", "se",
+            "ao", "aos", "as", "os", "ou", "mas", "como", "mais", "nao", "sao", "ser", "esta",
+            "este", "isso", "isto", "the", "of", "and", "to", "in", "is"
+    );
+
+    private SearchText() {}
+
+    static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String lower = text.toLowerCase();
+        // Atalho: texto só ASCII não precisa da decomposição NFD
+        boolean ascii = true;
+        for (int i = 0, n = lower.length(); i < n && ascii; i++) ascii = lower.charAt(i) < 0x80;
+        if (ascii) return lower;
+
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0, n = decomposed.length(); i < n; i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Emite os termos do texto: sequências de letras/dígitos já normalizadas, sem stopwords.
+     */
+    static void tokenize(String text, Consumer<String> sink) {
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0, n = folded.length(); i <= n; i++) {
+            boolean word = i < n && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String term = folded.substring(start, i);
+                if (!STOPWORDS.contains(term)) sink.accept(term);
+                start = -1;
+            }
+        }
+    }
+}
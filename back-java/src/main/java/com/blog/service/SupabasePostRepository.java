@@ -0,0 +1,209 @@
+package com.blog.service;
+
+import com.blog.config.SupabaseMetrics;
+import com.blog.model.Post;
+import com.blog.model.PostSummary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts na tabela posts do Supabase, via PostgREST.
+ * Toda resposta é uma lista decodificada post a post (bodyToFlux): o limite supabase.max-in-memory-size vale
+ * para cada post, não para a resposta inteira, que cresce com o acervo, a página ou o chunk do batch.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage", havingValue = "supabase", matchIfMissing = true)
+public class SupabasePostRepository implements PostRepository {
+
+    private final WebClient supabaseWebClient;
+    private final int exportPageSize;
+
+    public SupabasePostRepository(@Qualifier("supabaseWebClient") WebClient supabaseWebClient,
+                                  @Value("${app.export.page-size:500}") int exportPageSize) {
+        this.supabaseWebClient = supabaseWebClient;
+        this.exportPageSize = Math.max(1, exportPageSize);
+    }
+
+    @Override
+    public Mono<List<Post>> findAll() {
+        return supabaseWebClient.get()
+                .uri(uri -> uri.path("/posts").queryParam("order", "date.desc").build())
+                .attribute(SupabaseMetrics.OPERATION, "findAll")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    @Override
+    public Mono<Post> findById(String id) {
+        return supabaseWebClient.get()
+                .uri(uri -> uri.path("/posts").queryParam("id", "eq." + id).build())
+                .attribute(SupabaseMetrics.OPERATION, "findById")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .next();
+    }
+
+    // Uma requisição com id=in.(...) para todos os ids
+    @Override
+    public Mono<List<Post>> findByIds(Collection<String> ids) {
+        return supabaseWebClient.get()
+                .uri(uri -> uri.path("/posts").queryParam("id", idFilter(ids)).build())
+                .attribute(SupabaseMetrics.OPERATION, "findByIds")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    @Override
+    public Mono<List<Post>> findByCategory(String category) {
+        return supabaseWebClient.get()
+                .uri(uri -> uri.path("/posts")
+                        .queryParam("category", "eq." + category)
+                        .queryParam("order", "date.desc")
+                        .build())
+                .attribute(SupabaseMetrics.OPERATION, "findByCategory")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    @Override
+    public Mono<List<PostSummary>> findSummaries(String category) {
+        return supabaseWebClient.get()
+                .uri(uri -> {
+                    uri.path("/posts").queryParam("select", PostSummary.SELECT);
+                    if (category != null) uri.queryParam("category", "eq." + category);
+                    return uri.queryParam("order", "date.desc").build();
+                })
+                .attribute(SupabaseMetrics.OPERATION, "findSummaries")
+                .retrieve()
+                .bodyToFlux(PostSummary.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    @Override
+    public Mono<List<Post>> findPage(String category, PostCursor after, int limit) {
+        return page("findPage", category, after, limit, null, Post.class);
+    }
+
+    @Override
+    public Mono<List<PostSummary>> findSummaryPage(String category, PostCursor after, int limit) {
+        return page("findSummaryPage", category, after, limit, PostSummary.SELECT, PostSummary.class);
+    }
+
+    private <T> Mono<List<T>> page(String operation, String category, PostCursor after, int limit, String select,
+                                   Class<T> type) {
+        return supabaseWebClient.get()
+                .uri(uri -> {
+                    uri.path("/posts");
+                    if (select != null) uri.queryParam("select", select);
+                    if (category != null) uri.queryParam("category", "eq." + category);
+                    if (after != null) uri.queryParam("or", after.toFilter());
+                    return uri.queryParam("order", "date.desc,id.desc")
+                            .queryParam("limit", limit)
+                            .build();
+                })
+                .attribute(SupabaseMetrics.OPERATION, operation)
+                .retrieve()
+                .bodyToFlux(type)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    /**
+     * Busca em páginas de app.export.page-size por cursor e emite cada post conforme chega (bodyToFlux).
+     */
+    @Override
+    public Flux<Post> streamAll() {
+        return streamFrom(null);
+    }
+
+    private Flux<Post> streamFrom(PostCursor after) {
+        return Flux.defer(() -> {
+            Post[] last = new Post[1];
+            int[] count = {0};
+            return supabaseWebClient.get()
+                    .uri(uri -> {
+                        uri.path("/posts");
+                        if (after != null) uri.queryParam("or", after.toFilter());
+                        return uri.queryParam("order", "date.desc,id.desc")
+                                .queryParam("limit", exportPageSize)
+                                .build();
+                    })
+                    .attribute(SupabaseMetrics.OPERATION, "streamAll")
+                    .retrieve()
+                    .bodyToFlux(Post.class)
+                    .doOnNext(post -> {
+                        last[0] = post;
+                        count[0]++;
+                    })
+                    // Página cheia: pode haver mais; a próxima só é pedida depois que esta terminou
+                    .concatWith(Flux.defer(() -> count[0] < exportPageSize
+                            ? Flux.empty()
+                            : streamFrom(new PostCursor(last[0].getDate(), last[0].getId()))));
+        });
+    }
+
+    // Um insert em array é uma transação: se uma linha falhar, nenhuma entra
+    @Override
+    public Mono<List<Post>> insert(List<Map<String, Object>> rows) {
+        return supabaseWebClient.post()
+                .uri("/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(rows.size() == 1 ? rows.get(0) : rows)
+                .attribute(SupabaseMetrics.OPERATION, "insert")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    @Override
+    public Mono<List<Post>> update(Collection<String> ids, Map<String, Object> fields) {
+        return supabaseWebClient.patch()
+                .uri(uri -> uri.path("/posts").queryParam("id", idFilter(ids)).build())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(fields)
+                .attribute(SupabaseMetrics.OPERATION, "update")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    // select=id: o DELETE devolve só os ids das linhas apagadas
+    @Override
+    public Mono<List<String>> delete(Collection<String> ids) {
+        return supabaseWebClient.delete()
+                .uri(uri -> uri.path("/posts")
+                        .queryParam("id", idFilter(ids))
+                        .queryParam("select", "id")
+                        .build())
+                .attribute(SupabaseMetrics.OPERATION, "delete")
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .map(Post::getId)
+                .collectList()
+                .map(List::copyOf);
+    }
+
+    private static String idFilter(Collection<String> ids) {
+        if (ids.size() == 1) return "eq." + ids.iterator().next();
+        return "in.(" + String.join(",", ids) + ")";
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Metadados dos arquivos em /uploads para quem os serve. Todo nome ali é gravado uma única vez (hash do
+ * conteúdo, variantes derivadas dele ou nomes antigos com timestamp + uuid), então o nome sem extensão
+ * já é um ETag forte e os metadados podem ficar em memória sem revalidar o disco a cada requisição.
+ */
+@Service
+public class UploadFileService {
+
+    public static final CacheControl CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]*(\\.[A-Za-z0-9]+)?");
+
+    private final Path uploadDir;
+    private final int maxEntries;
+    private final Map<String, UploadFile> files = new ConcurrentHashMap<>();
+
+    public UploadFileService(@Value("${app.upload-dir:uploads}") String uploadDirName,
+                             @Value("${app.uploads.metadata-cache-size:10000}") int maxEntries) {
+        this.uploadDir = Paths.get(uploadDirName).toAbsolutePath().normalize();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Arquivo pelo nome (sem subpastas). Ausentes não são guardados: variantes aparecem depois do upload.
+     */
+    public Optional<UploadFile> find(String filename) {
+        if (filename == null || !SAFE_NAME.matcher(filename).matches()) return Optional.empty();
+        UploadFile cached = files.get(filename);
+        if (cached != null) return Optional.of(cached);
+
+        Path path = uploadDir.resolve(filename);
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (!attrs.isRegularFile()) return Optional.empty();
+
+        UploadFile file = new UploadFile(path, attrs.size(), attrs.lastModifiedTime().toMillis(), etag(filename),
+                MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        // Limite simples: ao encher, recomeça (relê do disco só o que voltar a ser pedido)
+        if (files.size() >= maxEntries) files.clear();
+        if (maxEntries > 0) files.put(filename, file);
+        return Optional.of(file);
+    }
+
+    /**
+     * O arquivo sumiu do disco (removido à mão): esquece os metadados.
+     */
+    public void evict(String filename) {
+        files.remove(filename);
+    }
+
+    public static String etag(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return "\"" + (dot > 0 ? filename.substring(0, dot) : filename) + "\"";
+    }
+
+    public record UploadFile(Path path, long size, long lastModified, String etag, MediaType mediaType) {}
+}
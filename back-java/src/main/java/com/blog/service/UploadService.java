@@ -1,28 +1,44 @@
 package com.blog.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Uploads guardados pelo conteúdo: o arquivo se chama SHA-256 + extensão, calculados enquanto os bytes
+ * chegam ({@link ImageUpload}, que também confere a assinatura da imagem e o limite de 5MB). Reenviar a
+ * mesma imagem devolve a URL já existente sem gravar nada de novo, e como o conteúdo de uma URL nunca
+ * muda, /uploads pode ser servido com cache imutável.
+ */
 @Service
 public class UploadService {
 
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
-    private static final String[] ALLOWED_MIMES = {
-            "image/jpeg", "image/png", "image/webp", "image/gif"
-    };
 
     private final Path uploadDir;
+    private final ImageVariantService imageVariants;
 
-    public UploadService(@Value("${app.upload-dir:uploads}") String uploadDirName) {
+    public UploadService(@Value("${app.upload-dir:uploads}") String uploadDirName,
+                         ImageVariantService imageVariants) {
         this.uploadDir = Paths.get(uploadDirName).toAbsolutePath().normalize();
+        this.imageVariants = imageVariants;
         try {
             Files.createDirectories(this.uploadDir);
         } catch (IOException e) {
@@ -32,47 +48,97 @@ public class UploadService {
 
     public Optional<String> saveImage(MultipartFile file) {
         if (file == null || file.isEmpty()) return Optional.empty();
-
-        String contentType = file.getContentType();
-        if (contentType == null || !isAllowedMime(contentType)) {
-            throw new IllegalArgumentException("Tipo de arquivo inválido. Apenas JPEG, PNG, WEBP e GIF são permitidos.");
-        }
         if (file.getSize() > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("Arquivo muito grande. Máximo 5MB.");
         }
-
-        String ext = getExtension(file.getOriginalFilename(), contentType);
-        String filename = System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 7) + ext;
-
-        try {
-            Path target = uploadDir.resolve(filename);
-            file.transferTo(target);
-            return Optional.of("/uploads/" + filename);
+        try (InputStream in = file.getInputStream()) {
+            return saveImage(in);
         } catch (IOException e) {
             throw new RuntimeException("Erro ao salvar arquivo", e);
         }
     }
 
-    private boolean isAllowedMime(String mime) {
-        for (String allowed : ALLOWED_MIMES) {
-            if (allowed.equals(mime)) return true;
+    /**
+     * Grava a imagem lendo o stream uma única vez (ex.: a parte do multipart direto do corpo da requisição).
+     * Stream vazio (campo de arquivo sem arquivo) não é erro de tipo: devolve vazio, como o MultipartFile.
+     */
+    public Optional<String> saveImage(InputStream in) {
+        try (ImageUpload upload = newUpload()) {
+            upload.readFrom(Channels.newChannel(in));
+            if (upload.isEmpty()) return Optional.empty();
+            return Optional.of(commit(upload));
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao salvar arquivo", e);
         }
-        return false;
     }
 
-    private String getExtension(String originalFilename, String contentType) {
-        if (originalFilename != null && originalFilename.contains(".")) {
-            int i = originalFilename.lastIndexOf('.');
-            return originalFilename.substring(i);
+    /**
+     * Variante reativa para FilePart (create/update de post com imagem).
+     */
+    public Mono<String> saveImage(FilePart file) {
+        if (file == null) return Mono.empty();
+        if (file.headers().getContentLength() > MAX_FILE_SIZE) {
+            return Mono.error(new IllegalArgumentException("Arquivo muito grande. Máximo 5MB."));
         }
-        if (contentType != null) {
-            return switch (contentType) {
-                case "image/png" -> ".png";
-                case "image/webp" -> ".webp";
-                case "image/gif" -> ".gif";
-                default -> ".jpg";
-            };
-        }
-        return ".jpg";
+        return saveImage(file.content());
+    }
+
+    /**
+     * Grava a imagem conforme os DataBuffers chegam. As escritas no FileChannel bloqueiam, então saem do
+     * event loop (boundedElastic); o stream é interrompido no primeiro erro (tipo ou tamanho). Sem bytes,
+     * completa vazio.
+     */
+    public Mono<String> saveImage(Flux<DataBuffer> content) {
+        return Mono.usingWhen(
+                Mono.fromCallable(this::newUpload).subscribeOn(Schedulers.boundedElastic()),
+                upload -> content
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(buffer -> {
+                            try (DataBuffer.ByteBufferIterator it = buffer.readableByteBuffers()) {
+                                while (it.hasNext()) upload.write(it.next());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        // Vazio completa sem valor (fromCallable com null), como no stream bloqueante
+                        .then(Mono.fromCallable(() -> upload.isEmpty() ? null : commit(upload))),
+                upload -> Mono.fromCallable(() -> {
+                    upload.close();
+                    return true;
+                }).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    // O arquivo temporário fica na própria pasta de uploads para o move ser um rename atômico
+    private ImageUpload newUpload() throws IOException {
+        return new ImageUpload(uploadDir.resolve(".upload-" + UUID.randomUUID() + ".tmp"), MAX_FILE_SIZE);
+    }
+
+    /**
+     * Dá ao arquivo temporário o nome do seu conteúdo. Se esse nome já existe, a imagem já foi enviada:
+     * devolve a mesma URL (e as variantes já existentes) sem mover nada.
+     */
+    private String commit(ImageUpload upload) throws IOException {
+        upload.finish();
+        String filename = upload.sha256Hex() + extension(upload.contentType());
+        String imageUrl = "/uploads/" + filename;
+        Path target = uploadDir.resolve(filename);
+        if (Files.exists(target)) return imageUrl;
+
+        Files.move(upload.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        imageVariants.schedule(imageUrl);
+        return imageUrl;
+    }
+
+    // Extensão pelo tipo detectado, não pelo nome original: o mesmo conteúdo sempre dá o mesmo arquivo
+    private static String extension(String contentType) {
+        return switch (contentType) {
+            case "image/png" -> ".png";
+            case "image/webp" -> ".webp";
+            case "image/gif" -> ".gif";
+            default -> ".jpg";
+        };
     }
 }
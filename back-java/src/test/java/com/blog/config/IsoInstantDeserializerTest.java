@@ -0,0 +1,105 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * IsoInstantDeserializer lido pelo ObjectMapper do WebConfig, contra a cadeia que ele substituiu
+ * (Instant.parse, + "Z", LocalDateTime em UTC).
+ */
+class IsoInstantDeserializerTest {
+
+    private final ObjectReader reader = new WebConfig()
+            .objectMapper(new Jackson2ObjectMapperBuilder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS))
+            .readerFor(Instant.class);
+
+    // Onde o parser novo difere do antigo de propósito; null é recusar
+    @Test
+    void edgeCases() {
+        Map<String, Instant> cases = new LinkedHashMap<>();
+        cases.put("2024-05-01T10:15:30.123456", Instant.parse("2024-05-01T10:15:30.123456Z"));
+        cases.put("2024-02-29T00:00:00", Instant.parse("2024-02-29T00:00:00Z"));
+        cases.put("2023-02-29T00:00:00", null);
+        cases.put("2024-05-01T10:15", Instant.parse("2024-05-01T10:15:00Z"));
+        cases.put("2024-05-01T24:00:00", Instant.parse("2024-05-02T00:00:00Z"));
+        cases.put("2024-05-01T24:00:01", null);
+        cases.put("2024-05-01T10:15:30+18:00", Instant.parse("2024-04-30T16:15:30Z"));
+        cases.put("2024-05-01T10:15:30+19:00", null);
+        cases.put("2024-05-01T10:15:30.1234567891Z", null);
+        cases.put("2024-05-01 10:15:30", null);
+        cases.put("abc", null);
+        // Aceitos só pelo novo: offset sem segundos e offset compacto
+        cases.put("2024-05-01T10:15+03:00", Instant.parse("2024-05-01T07:15:00Z"));
+        cases.put("2024-05-01T10:15:30.123-0300", Instant.parse("2024-05-01T13:15:30.123Z"));
+        // Recusados só pelo novo: ponto sem dígitos de fração (Instant.parse aceitava)
+        cases.put("2024-05-01T10:15:30.Z", null);
+        cases.put("2024-05-01T10:15:30.+00:00", null);
+
+        cases.forEach((text, expected) -> assertEquals(expected, read(text), text));
+    }
+
+    // 200 mil datas aleatórias: sem fuso, com Z e com offset, fração de 0 a 9 dígitos
+    @Test
+    void matchesOldParser() {
+        Random random = new Random(1);
+        DateTimeFormatter seconds = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+        for (int i = 0; i < 200_000; i++) {
+            LocalDateTime time = LocalDateTime.ofEpochSecond(random.nextLong() % (300L * 365 * 86_400), 0, ZoneOffset.UTC);
+            StringBuilder text = new StringBuilder(seconds.format(time));
+            int digits = random.nextInt(10);
+            if (digits > 0) {
+                text.append('.');
+                for (int d = 0; d < digits; d++) text.append((char) ('0' + random.nextInt(10)));
+            }
+            switch (random.nextInt(3)) {
+                case 1 -> text.append('Z');
+                case 2 -> text.append(String.format("%s%02d:%02d", random.nextBoolean() ? "+" : "-", random.nextInt(13), random.nextInt(2) * 30));
+                default -> {
+                }
+            }
+            assertEquals(oldParse(text.toString()), read(text.toString()), text::toString);
+        }
+    }
+
+    private Instant read(String text) {
+        try {
+            return reader.readValue("\"" + text + "\"");
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // O deserializador que o WebConfig usava antes do IsoInstantDeserializer
+    private static Instant oldParse(String text) {
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            if (text.contains("Z") || text.contains("+") || text.matches(".*T\\d{2}:\\d{2}:\\d{2}.*[+-]\\d{2}:\\d{2}")) {
+                return null;
+            }
+            try {
+                return Instant.parse(text + "Z");
+            } catch (DateTimeParseException e2) {
+                try {
+                    return LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME).toInstant(ZoneOffset.UTC);
+                } catch (DateTimeParseException e3) {
+                    return null;
+                }
+            }
+        }
+    }
+}
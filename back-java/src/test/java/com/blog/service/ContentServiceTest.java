@@ -0,0 +1,65 @@
+package com.blog.service;
+
+import com.blog.config.WebConfig;
+import com.blog.model.CodeBlock;
+import com.blog.model.CodeContent;
+import com.blog.model.CodeExample;
+import com.blog.model.ContentBlock;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContentServiceTest {
+
+    // Um bloco de cada forma que o front grava; a segunda imagem tem width "100%", que o schema recusa
+    private static final String FRONT_CONTEUDO = """
+            [
+              {"tipo": "intro", "content": "Introdução"},
+              {"tipo": "imagem", "content": {"src": "/uploads/a.png", "alt": "a", "width": 800, "caption": "legenda"}},
+              {"tipo": "imagem", "content": {"src": "/uploads/b.png", "width": "100%"}},
+              {"tipo": "titulo", "anchor": "inicio", "content": {"text": "Título", "icon": "code", "iconColor": "blue-500"}},
+              {"tipo": "codigo", "content": [{"title": "Java x Go",
+                "examples": [{"language": "java", "color": "orange-400", "code": "int x = 1;"}]}]},
+              {"tipo": "codigo", "content": {"title": "Editor", "examples": [{"language": "go", "code": "x := 1"}]}},
+              {"tipo": "lista", "content": [{"title": "Item", "description": "Descrição", "example": "exemplo()"}]},
+              {"tipo": "comparacao", "content": [{"title": "Prós", "bg": "green-50", "border": "green-200",
+                "items": ["rápido", "simples"]}]},
+              {"tipo": "ecossistema", "content": [{"title": "Bibliotecas", "description": "Principais", "bgFrom": "blue-50",
+                "bgTo": "blue-100", "border": "blue-200", "libraries": ["spring", "jackson"]}]},
+              {"tipo": "conclusao", "content": "Conclusão"}
+            ]
+            """;
+
+    private final ContentService contentService = new ContentService();
+
+    @Test
+    void acceptsFrontBlocks() throws Exception {
+        List<ContentBlock> blocks = new WebConfig().objectMapper(new Jackson2ObjectMapperBuilder())
+                .readValue(FRONT_CONTEUDO, new TypeReference<List<ContentBlock>>() {});
+        List<String> errors = new ArrayList<>();
+
+        contentService.validateContentBlocks(blocks, "conteudo", errors);
+
+        assertEquals(List.of("conteudo[2].content deve ser um objeto {src, alt, width, height}"), errors);
+    }
+
+    @Test
+    void stopsAtMaxErrors() {
+        CodeBlock code = new CodeBlock();
+        code.setTipo("codigo");
+        code.setContent(new CodeContent());
+        code.getContent().setExamples(new ArrayList<>());
+        for (int i = 0; i < 5000; i++) code.getContent().getExamples().add(new CodeExample());
+        List<String> errors = new ArrayList<>();
+
+        contentService.validateContentBlocks(List.of(code), "conteudo", errors);
+
+        // MAX_ERRORS mensagens e a que avisa do corte
+        assertEquals(ContentSchema.MAX_ERRORS + 1, errors.size());
+    }
+}